@@ -1,3 +1,4 @@
+import org.jetbrains.intellij.platform.gradle.TestFrameworkType
 import org.jetbrains.kotlin.ir.backend.js.compile
 
 plugins {
@@ -5,6 +6,7 @@ plugins {
     id("org.jetbrains.kotlin.jvm") version "1.9.25"
     id("org.jetbrains.intellij.platform") version "2.6.0"
     id("com.github.johnrengelman.shadow") version "8.1.1"
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 group = "net.vortexdevelopment"
@@ -28,7 +30,12 @@ dependencies {
         intellijIdeaCommunity("2025.2.6")
 
         bundledPlugin("com.intellij.java")
+
+        testFramework(TestFrameworkType.Platform)
+        testFramework(TestFrameworkType.Plugin.Java)
     }
+    testImplementation("junit:junit:4.13.2")
+    testImplementation("org.opentest4j:opentest4j:1.3.0")
     // Note: Java 11+ HttpClient and javax.xml are built-in, no external dependencies needed
 }
 
@@ -42,10 +49,42 @@ sourceSets {
         java.srcDirs("src/main/java")
         resources.srcDirs("src/main/resources")
     }
+    // Benchmarks run inside the IntelliJ light test fixture, so they need the same classpath as the tests
+    named("jmh") {
+        compileClasspath += sourceSets.test.get().compileClasspath
+        runtimeClasspath += sourceSets.test.get().runtimeClasspath
+    }
+}
+
+// Run with ./gradlew jmh, results are written to the tracked baseline src/jmh/baseline/results.json
+jmh {
+    includeTests.set(true)
+    fork.set(1)
+    warmupIterations.set(3)
+    iterations.set(5)
+    // Throughput plus sampled latencies, which report the p99 per call
+    benchmarkMode.set(listOf("thrpt", "sample"))
+    timeUnit.set("us")
+    profilers.set(listOf("gc"))
+    resultFormat.set("JSON")
+    resultsFile.set(layout.projectDirectory.file("src/jmh/baseline/results.json"))
+    jvmArgsAppend.addAll(
+        "-Xmx4g",
+        "-Djava.awt.headless=true",
+        "-Didea.force.use.core.classloader=true"
+    )
+    jvmArgsAppend.add(provider { "-Didea.home.path=${intellijPlatform.platformPath}" })
+    providers.gradleProperty("jmh.includes").orNull?.let { includes.set(listOf(it)) }
 }
 
 tasks {
     // Set the JVM compatibility versions
+    named("jmh") {
+        doFirst {
+            layout.projectDirectory.dir("src/jmh/baseline").asFile.mkdirs()
+        }
+    }
+
     withType<JavaCompile> {
         sourceCompatibility = "17"
         targetCompatibility = "17"
@@ -57,6 +96,19 @@ tasks {
         }
     }
 
+    // The performance tests generate large projects and assert time and heap budgets, so they only run with
+    // -Pvinject.perf.enabled=true. Budgets can be overridden with -Pvinject.perf.<name>=<value>
+    test {
+        maxHeapSize = "2g"
+        val perfProperties = providers.gradlePropertiesPrefixedBy("vinject.perf.").get()
+        perfProperties.forEach { (key, value) ->
+            systemProperty(key, value)
+        }
+        if (perfProperties["vinject.perf.enabled"]?.toBoolean() != true) {
+            exclude("**/*PerformanceTest.class")
+        }
+    }
+
     withType<Jar> {
         duplicatesStrategy = DuplicatesStrategy.EXCLUDE
         manifest {
@@ -0,0 +1,52 @@
+package net.vortexdevelopment.plugin.vinject.benchmark;
+
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiFile;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Registry hot paths: reprocessing a file after a change and the lookups made by every inspection
+ */
+public class ClassDataManagerBenchmark {
+
+    /**
+     * Reprocess a file whose classes changed, the fingerprints are dropped before every call
+     */
+    @Benchmark
+    public void processFileChange(GeneratedProjectState state) {
+        PsiFile file = state.componentClasses[state.nextIndex()].getContainingFile();
+        ReadAction.run(() -> {
+            state.classDataManager.invalidateFingerprints();
+            state.classDataManager.processFileChange(file);
+        });
+    }
+
+    /**
+     * Reprocess a file that did not change, which should be skipped through its fingerprint
+     */
+    @Benchmark
+    public void processFileChangeUnchanged(GeneratedProjectState state) {
+        PsiFile file = state.componentClasses[state.nextIndex()].getContainingFile();
+        ReadAction.run(() -> state.classDataManager.processFileChange(file));
+    }
+
+    @Benchmark
+    public boolean isClassProvided(GeneratedProjectState state) {
+        PsiClass psiClass = state.componentClasses[state.nextIndex()];
+        return ReadAction.compute(() -> state.classDataManager.isClassProvided(psiClass));
+    }
+
+    @Benchmark
+    public boolean isComponentClass(GeneratedProjectState state) {
+        PsiClass psiClass = state.componentClasses[state.nextIndex()];
+        return ReadAction.compute(() -> state.classDataManager.isComponentClass(psiClass));
+    }
+
+    @Benchmark
+    public void getInjectionPoints(GeneratedProjectState state, Blackhole blackhole) {
+        PsiClass psiClass = state.componentClasses[state.nextIndex()];
+        blackhole.consume(ReadAction.compute(() -> state.classDataManager.getInjectionPoints(psiClass)));
+    }
+}
@@ -0,0 +1,41 @@
+package net.vortexdevelopment.plugin.vinject.benchmark;
+
+import com.intellij.codeInspection.InspectionManager;
+import com.intellij.codeInspection.ProblemDescriptor;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiField;
+import net.vortexdevelopment.plugin.vinject.syntax.ComponentHighlighter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Latency of a single inspection call, the p99 of these is what an editor pass waits for
+ */
+@State(Scope.Benchmark)
+public class ComponentHighlighterBenchmark {
+
+    private ComponentHighlighter highlighter;
+    private InspectionManager inspectionManager;
+
+    @Setup(Level.Trial)
+    public void setUp(GeneratedProjectState state) {
+        highlighter = new ComponentHighlighter();
+        inspectionManager = InspectionManager.getInstance(state.project);
+    }
+
+    @Benchmark
+    public ProblemDescriptor[] checkClass(GeneratedProjectState state) {
+        PsiClass psiClass = state.componentClasses[state.nextIndex()];
+        return ReadAction.compute(() -> highlighter.checkClass(psiClass, inspectionManager, true));
+    }
+
+    @Benchmark
+    public ProblemDescriptor[] checkField(GeneratedProjectState state) {
+        PsiField field = state.injectedFields[state.nextIndex()];
+        return ReadAction.compute(() -> highlighter.checkField(field, inspectionManager, true));
+    }
+}
@@ -0,0 +1,88 @@
+package net.vortexdevelopment.plugin.vinject.benchmark;
+
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.project.Project;
+import com.intellij.psi.JavaPsiFacade;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiField;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.testFramework.EdtTestUtil;
+import com.intellij.testFramework.LightProjectDescriptor;
+import com.intellij.testFramework.fixtures.CodeInsightTestFixture;
+import com.intellij.testFramework.fixtures.IdeaProjectTestFixture;
+import com.intellij.testFramework.fixtures.IdeaTestFixtureFactory;
+import com.intellij.testFramework.fixtures.TestFixtureBuilder;
+import net.vortexdevelopment.plugin.vinject.VInjectProjectGenerator;
+import net.vortexdevelopment.plugin.vinject.container.ClassDataManager;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.List;
+
+/**
+ * Light fixture with a generated VInject project, scanned once per trial
+ */
+@State(Scope.Benchmark)
+public class GeneratedProjectState {
+
+    @Param({"1000", "10000", "50000"})
+    public int components;
+
+    CodeInsightTestFixture fixture;
+    Project project;
+    ClassDataManager classDataManager;
+    List<PsiFile> files;
+    PsiClass[] componentClasses;
+    PsiField[] injectedFields;
+
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        EdtTestUtil.runInEdtAndWait(() -> {
+            TestFixtureBuilder<IdeaProjectTestFixture> builder = IdeaTestFixtureFactory.getFixtureFactory()
+                    .createLightFixtureBuilder(new LightProjectDescriptor(), "VInjectBenchmark");
+            fixture = IdeaTestFixtureFactory.getFixtureFactory().createCodeInsightFixture(builder.getFixture());
+            fixture.setUp();
+            VInjectProjectGenerator.addFrameworkAnnotations(fixture);
+            files = VInjectProjectGenerator.generate(fixture, components);
+        });
+        project = fixture.getProject();
+        classDataManager = ClassDataManager.getInstance(project);
+
+        ReadAction.run(() -> {
+            for (PsiFile file : files) {
+                classDataManager.processFileChange(file);
+            }
+            JavaPsiFacade facade = JavaPsiFacade.getInstance(project);
+            GlobalSearchScope scope = GlobalSearchScope.projectScope(project);
+            componentClasses = new PsiClass[components];
+            injectedFields = new PsiField[components];
+            for (int i = 0; i < components; i++) {
+                componentClasses[i] = facade.findClass(VInjectProjectGenerator.componentName(i), scope);
+                PsiField field = componentClasses[i].findFieldByName("bean", false);
+                // Entities have no injected fields, use their id instead
+                injectedFields[i] = field != null ? field : componentClasses[i].findFieldByName("id", false);
+            }
+        });
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        EdtTestUtil.runInEdtAndWait(() -> fixture.tearDown());
+    }
+
+    /**
+     * @return Index of the next component, cycling through the whole project
+     */
+    int nextIndex() {
+        int index = next;
+        next = index + 1 == components ? 0 : index + 1;
+        return index;
+    }
+}
@@ -1,29 +1,33 @@
 package net.vortexdevelopment.plugin.vinject;
 
+import com.intellij.codeInsight.daemon.DaemonCodeAnalyzer;
 import com.intellij.openapi.Disposable;
 import com.intellij.openapi.application.Application;
 import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.fileEditor.FileEditorManager;
 import com.intellij.openapi.progress.ProgressIndicator;
 import com.intellij.openapi.progress.ProgressManager;
-import com.intellij.openapi.progress.Task;
-import com.intellij.openapi.project.DumbService;
+import com.intellij.openapi.progress.util.ProgressIndicatorUtils;
 import com.intellij.openapi.project.Project;
-import com.intellij.openapi.roots.ProjectFileIndex;
-import com.intellij.openapi.roots.ProjectRootManager;
 import com.intellij.openapi.startup.ProjectActivity;
 import com.intellij.openapi.startup.StartupActivity;
-import com.intellij.openapi.util.Computable;
 import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.psi.PsiFile;
 import com.intellij.psi.PsiManager;
+import com.intellij.util.concurrency.AppExecutorUtil;
 import kotlin.Unit;
 import kotlin.coroutines.Continuation;
 import net.vortexdevelopment.plugin.vinject.container.ClassDataManager;
+import net.vortexdevelopment.plugin.vinject.container.ComponentIndex;
+import net.vortexdevelopment.plugin.vinject.container.RegistrySnapshot;
+import net.vortexdevelopment.plugin.vinject.diagnostics.VInjectMetrics;
 import net.vortexdevelopment.plugin.vinject.discord.DiscordHook;
 import net.vortexdevelopment.plugin.vinject.discord.DiscordActivityManager;
 import net.vortexdevelopment.plugin.vinject.discord.DiscordSettings;
 import net.vortexdevelopment.plugin.vinject.syntax.AnnotationChangeListener;
 import net.vortexdevelopment.plugin.vinject.templates.TemplateManager;
+import net.vortexdevelopment.plugin.vinject.utils.VInjectLogger;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -31,9 +35,18 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class Plugin implements ProjectActivity, Disposable {
 
+    private static final VInjectLogger LOG = VInjectLogger.getInstance(Plugin.class);
+
+    private static final int SCAN_CHUNK_SIZE = 50;
+    private static final ExecutorService SCAN_EXECUTOR = AppExecutorUtil.createBoundedApplicationPoolExecutor(
+            "VInject Scanner", Runtime.getRuntime().availableProcessors());
+
     private static DiscordActivityManager globalDiscordActivityManager;
     private static boolean discordInitialized = false;
     private AnnotationChangeListener annotationChangeListener;
@@ -43,144 +56,206 @@ public class Plugin implements ProjectActivity, Disposable {
     public @Nullable Object execute(@NotNull Project project, @NotNull Continuation<? super Unit> continuation) {
         this.project = project;
 
-        // Schedule scanning and template reload after indexing completes to ensure modules and library roots are available
-        DumbService.getInstance(project).runWhenSmart(() -> {
-            // Process files in background with progress indication to prevent UI freezes
-            ProgressManager.getInstance().run(new Task.Backgroundable(project, "Scanning VInject annotations", true) {
-                @Override
-                public void run(@NotNull ProgressIndicator indicator) {
-                    ApplicationManager.getApplication().runReadAction((Computable<List<VirtualFile>>) () -> {
-                        // Ensure templates from dependency jars are loaded on startup
-                        TemplateManager.getInstance().reloadTemplates(project);
-
-                        indicator.setText("Collecting source files...");
-                        List<VirtualFile> roots = new ArrayList<>();
-                        ProjectFileIndex projectFileIndex = ProjectRootManager.getInstance(project).getFileIndex();
-
-                        projectFileIndex.iterateContent(file -> {
-                            if (indicator.isCanceled()) {
-                                return false; // Stop iteration if cancelled
-                            }
-                            if (projectFileIndex.isInSource(file) && !file.getPath().contains("resources")
-                                    && !file.getPath().contains("target")) {
-                                roots.add(file);
-                            }
-                            return true; // Continue iteration
-                        });
-
-                        if (indicator.isCanceled()) {
-                            return roots;
-                        }
+        // Scanning and template reload run after indexing completes to ensure modules and library roots are available
+        RescanScheduler.getInstance(project).schedule(RescanScheduler.Mode.STARTUP);
 
-                        // Process files with progress indication to prevent UI freezes
-                        indicator.setText("Processing " + roots.size() + " files...");
-                        int batchSize = 50; // Check cancellation every 50 files
-                        
-                        for (int i = 0; i < roots.size(); i++) {
-                            if (indicator.isCanceled()) {
-                                break;
-                            }
-                            
-                            VirtualFile virtualFile = roots.get(i);
-                            indicator.setText2("Processing: " + virtualFile.getName());
-                            indicator.setFraction((double) i / roots.size());
-                            
-                            PsiFile psiFile = PsiManager.getInstance(project).findFile(virtualFile);
-                            if (psiFile != null) {
-                                ClassDataManager.processFileChange(psiFile);
-                            }
-                            
-                            // Check cancellation periodically to allow UI responsiveness
-                            if (i % batchSize == 0) {
-                                indicator.checkCanceled();
-                            }
-                        }
-                        
-                        return roots;
-                    });
-                }
-            });
-        });
-
-        this.annotationChangeListener = new AnnotationChangeListener();
+        this.annotationChangeListener = new AnnotationChangeListener(project, ClassDataManager.getInstance(project));
         PsiManager.getInstance(project).addPsiTreeChangeListener(annotationChangeListener, this);
 
         // Initialize Discord RPC globally (only once)
         initializeDiscordRPCGlobal(project);
 
-        // As a final fallback ensure templates are reloaded once more on the EDT in case
-        // module/classpath roots become available slightly after startup.
-        ApplicationManager.getApplication().invokeLater(() -> TemplateManager.getInstance().reloadTemplates(project));
-
-        System.out.println("Plugin initialized successfully for project: " + project.getName());
+        LOG.info(() -> "Plugin initialized for project: " + project.getName());
         return null;
     }
 
     /**
      * Public method to trigger a rescan of the project files for VInject annotations.
-     * This can be called from actions or other UI components to force re-processing.
+     * This can be called from actions or other UI components to force re-processing,
+     * every component file found in the index is processed with PSI again.
      * @param proj Project to rescan
      */
     public static void rescanProject(Project proj) {
         if (proj == null)
             return;
-        // Schedule the rescan to run when indexing (smart mode) is ready.
-        DumbService.getInstance(proj).runWhenSmart(() -> {
-            // Process files in background with progress indication to prevent UI freezes
-            ProgressManager.getInstance().run(new Task.Backgroundable(proj, "Rescanning VInject annotations", true) {
-                @Override
-                public void run(@NotNull ProgressIndicator indicator) {
-                    ApplicationManager.getApplication().runReadAction(() -> {
-                        indicator.setText("Collecting source files...");
-                        ProjectFileIndex projectFileIndex = ProjectRootManager.getInstance(proj).getFileIndex();
-                        List<VirtualFile> roots = new ArrayList<>();
-                        projectFileIndex.iterateContent(file -> {
-                            if (indicator.isCanceled()) {
-                                return false; // Stop iteration if cancelled
-                            }
-                            if (projectFileIndex.isInSource(file) && !projectFileIndex.isInTestSourceContent(file)
-                                    && !file.getPath().contains("resources") && !file.getPath().contains("target")) {
-                                roots.add(file);
-                            }
-                            return true;
-                        });
-                        
-                        if (indicator.isCanceled()) {
-                            return;
-                        }
-                        
-                        // Reload templates from dependencies before rescanning project files to ensure templates
-                        // provided by library jars are available. This method avoids duplicate registration.
-                        indicator.setText("Reloading templates...");
-                        TemplateManager.getInstance().reloadTemplates(proj);
-
-                        // Process files with progress indication to prevent UI freezes
-                        indicator.setText("Processing " + roots.size() + " files...");
-                        int batchSize = 50; // Check cancellation every 50 files
-                        
-                        for (int i = 0; i < roots.size(); i++) {
-                            if (indicator.isCanceled()) {
-                                break;
-                            }
-                            
-                            VirtualFile virtualFile = roots.get(i);
-                            indicator.setText2("Processing: " + virtualFile.getName());
-                            indicator.setFraction((double) i / roots.size());
-                            
-                            PsiFile psiFile = PsiManager.getInstance(proj).findFile(virtualFile);
+        // Merged with a running or queued scan instead of starting another one
+        RescanScheduler.getInstance(proj).schedule(RescanScheduler.Mode.FULL_REPARSE);
+    }
+
+    /**
+     * Run a scan, called by the {@link RescanScheduler} on its background task in smart mode.
+     * @param project Project to scan
+     * @param indicator Progress indicator of the scheduler's task
+     * @param mode Kind of scan
+     */
+    static void scan(Project project, ProgressIndicator indicator, RescanScheduler.Mode mode) {
+        if (mode == RescanScheduler.Mode.STARTUP) {
+            // A valid snapshot restores the registry without scanning, only changed files are processed
+            indicator.setText("Restoring VInject registry...");
+            long start = System.nanoTime();
+            List<VirtualFile> staleFiles = ReadAction.nonBlocking(() -> RegistrySnapshot.restore(project))
+                    .inSmartMode(project)
+                    .expireWith(project)
+                    .executeSynchronously();
+            VInjectMetrics.getInstance().record(VInjectMetrics.SNAPSHOT_RESTORE, start);
+            if (staleFiles != null) {
+                indicator.setText("Processing " + staleFiles.size() + " changed files...");
+                processOpenFilesFirst(project, staleFiles, indicator);
+                saveSnapshot(project, null);
+                return;
+            }
+        }
+
+        // Reload templates from dependencies before scanning project files to ensure templates
+        // provided by library jars are available. This method avoids duplicate registration.
+        indicator.setText("Reloading templates...");
+        long start = System.nanoTime();
+        ReadAction.nonBlocking(() -> TemplateManager.getInstance().reloadTemplates(project))
+                .inSmartMode(project)
+                .expireWith(project)
+                .executeSynchronously();
+        VInjectMetrics.getInstance().record(VInjectMetrics.SCAN_TEMPLATES, start);
+        scanProject(project, indicator, mode == RescanScheduler.Mode.FULL_REPARSE);
+    }
+
+    /**
+     * Register the VInject components of a project.
+     * Files registering annotations or templates are always processed with PSI. Every other component is
+     * read from the {@link ComponentIndex}, unless a full reparse is requested.
+     * <p>
+     * PSI processing is split into chunks of non-blocking read actions running on a bounded pool, so a write
+     * action cancels the running chunks instead of waiting for the whole scan, and they restart right after it.
+     * @param project Project to scan
+     * @param indicator Progress indicator of the calling task
+     * @param fullReparse Whether component files should be processed with PSI instead of read from the index
+     */
+    private static void scanProject(Project project, ProgressIndicator indicator, boolean fullReparse) {
+        if (fullReparse) {
+            // A forced rescan rebuilds every class, even the ones that look unchanged
+            ClassDataManager.getInstance(project).invalidateFingerprints();
+        }
+
+        VInjectMetrics metrics = VInjectMetrics.getInstance();
+        indicator.setText("Collecting VInject registry files...");
+        long start = System.nanoTime();
+        List<VirtualFile> registryFiles = ReadAction.nonBlocking(() -> new ArrayList<>(ClassDataManager.getInstance(project).collectRegistryFiles()))
+                .inSmartMode(project)
+                .expireWith(project)
+                .executeSynchronously();
+
+        metrics.record(VInjectMetrics.SCAN_COLLECT, start);
+
+        // Registry files have to be processed first, they declare the custom component annotations
+        indicator.setText("Processing " + registryFiles.size() + " registry files...");
+        start = System.nanoTime();
+        processFilesInParallel(project, registryFiles, indicator);
+        metrics.record(VInjectMetrics.SCAN_PROCESS, start);
+
+        if (fullReparse) {
+            indicator.setText("Collecting VInject component files...");
+            start = System.nanoTime();
+            List<VirtualFile> componentFiles = ReadAction.nonBlocking(() -> {
+                        List<VirtualFile> files = new ArrayList<>(ClassDataManager.getInstance(project).collectComponentFiles());
+                        files.removeAll(registryFiles);
+                        return files;
+                    })
+                    .inSmartMode(project)
+                    .expireWith(project)
+                    .executeSynchronously();
+
+            metrics.record(VInjectMetrics.SCAN_COLLECT, start);
+
+            indicator.setText("Processing " + componentFiles.size() + " files...");
+            start = System.nanoTime();
+            processOpenFilesFirst(project, componentFiles, indicator);
+            metrics.record(VInjectMetrics.SCAN_PROCESS, start);
+        } else {
+            // Custom component annotations are known now, the rest comes straight from the index
+            indicator.setText("Loading VInject components...");
+            start = System.nanoTime();
+            List<VirtualFile> unresolvedFiles = ReadAction.nonBlocking(() -> {
+                        List<VirtualFile> files = ClassDataManager.getInstance(project).loadComponentsFromIndex();
+                        files.removeAll(registryFiles);
+                        return files;
+                    })
+                    .inSmartMode(project)
+                    .expireWith(project)
+                    .executeSynchronously();
+
+            // Classes with types the index could not resolve on its own need the PSI
+            indicator.setText("Processing " + unresolvedFiles.size() + " files...");
+            processOpenFilesFirst(project, unresolvedFiles, indicator);
+            metrics.record(VInjectMetrics.SCAN_PROCESS, start);
+        }
+        saveSnapshot(project, registryFiles);
+        indicator.setText2("");
+        indicator.setFraction(1.0);
+    }
+
+    /**
+     * Persist the registry for the next start of the project
+     * @param project Project to save
+     * @param registryFiles Files registering annotations or templates, collected from the index when null
+     */
+    private static void saveSnapshot(Project project, @Nullable List<VirtualFile> registryFiles) {
+        ReadAction.nonBlocking(() -> RegistrySnapshot.save(project, registryFiles != null
+                        ? registryFiles
+                        : ClassDataManager.getInstance(project).collectRegistryFiles()))
+                .inSmartMode(project)
+                .expireWith(project)
+                .executeSynchronously();
+    }
+
+    /**
+     * Process the files shown in editors before all others and restart their highlighting,
+     * so the visible code is correct long before the whole scan finishes
+     */
+    private static void processOpenFilesFirst(Project project, List<VirtualFile> files, ProgressIndicator indicator) {
+        Set<VirtualFile> openFiles = Set.of(FileEditorManager.getInstance(project).getOpenFiles());
+        List<VirtualFile> visible = new ArrayList<>();
+        List<VirtualFile> remaining = new ArrayList<>(files.size());
+        for (VirtualFile file : files) {
+            (openFiles.contains(file) ? visible : remaining).add(file);
+        }
+        if (!visible.isEmpty()) {
+            processFilesInParallel(project, visible, indicator);
+            DaemonCodeAnalyzer.getInstance(project).restart();
+        }
+        processFilesInParallel(project, remaining, indicator);
+    }
+
+    private static void processFilesInParallel(Project project, List<VirtualFile> files, ProgressIndicator indicator) {
+        if (files.isEmpty()) {
+            return;
+        }
+        indicator.setFraction(0);
+        AtomicInteger processed = new AtomicInteger();
+        List<Future<?>> chunks = new ArrayList<>();
+        for (int start = 0; start < files.size(); start += SCAN_CHUNK_SIZE) {
+            List<VirtualFile> chunk = files.subList(start, Math.min(start + SCAN_CHUNK_SIZE, files.size()));
+            // The whole chunk is restarted when a write action interrupts it, processFileChange is idempotent
+            chunks.add(ReadAction.nonBlocking(() -> {
+                        PsiManager psiManager = PsiManager.getInstance(project);
+                        ClassDataManager classDataManager = ClassDataManager.getInstance(project);
+                        for (VirtualFile virtualFile : chunk) {
+                            ProgressManager.checkCanceled();
+                            PsiFile psiFile = virtualFile.isValid() ? psiManager.findFile(virtualFile) : null;
                             if (psiFile != null) {
-                                ClassDataManager.processFileChange(psiFile);
-                            }
-                            
-                            // Check cancellation periodically to allow UI responsiveness
-                            if (i % batchSize == 0) {
-                                indicator.checkCanceled();
+                                classDataManager.processFileChange(psiFile);
                             }
                         }
-                    });
-                }
-            });
-        });
+                        int done = processed.addAndGet(chunk.size());
+                        indicator.setText2("Processed " + done + " of " + files.size() + " files");
+                        indicator.setFraction((double) done / files.size());
+                    })
+                    .inSmartMode(project)
+                    .wrapProgress(indicator)
+                    .expireWith(project)
+                    .submit(SCAN_EXECUTOR));
+        }
+        for (Future<?> chunk : chunks) {
+            ProgressIndicatorUtils.awaitWithCheckCanceled(chunk);
+        }
     }
 
     public static void runWriteAction(Runnable runnable) {
@@ -207,43 +282,37 @@ public class Plugin implements ProjectActivity, Disposable {
             return;
         }
 
-        System.out.println("🔄 Starting Discord RPC initialization globally...");
+        LOG.debug(() -> "Starting Discord RPC initialization globally...");
 
         try {
             // Check if Discord RPC is enabled in any project's settings
             if (!DiscordHook.isEnabled(project)) {
-                System.out.println("Discord RPC is disabled in settings, skipping initialization");
+                LOG.debug(() -> "Discord RPC is disabled in settings, skipping initialization");
                 return;
             }
 
-            System.out.println("🔧 Initializing Discord RPC globally...");
             // Initialize Discord RPC globally
             DiscordHook.init(project);
 
-            System.out.println("🔗 Attempting to connect to Discord...");
             // Connect to Discord
             DiscordHook.connect().thenRun(() -> {
-                System.out.println("Discord connection successful! Starting global activity monitoring...");
                 try {
                     // Start global activity monitoring
                     DiscordSettings settings = DiscordSettings.getInstance(project);
                     globalDiscordActivityManager = new DiscordActivityManager(project, settings);
                     globalDiscordActivityManager.startMonitoring();
                     discordInitialized = true;
-                    System.out.println("Discord global activity monitoring started successfully!");
+                    LOG.debug(() -> "Discord global activity monitoring started");
                 } catch (Exception e) {
-                    System.err.println("Failed to start Discord activity monitoring: " + e.getMessage());
-                    e.printStackTrace();
+                    LOG.warn(() -> "Failed to start Discord activity monitoring", e);
                 }
             }).exceptionally(throwable -> {
-                System.err.println("Discord connection failed: " + throwable.getMessage());
-                throwable.printStackTrace();
+                LOG.warn(() -> "Discord connection failed: " + throwable.getMessage());
                 return null;
             });
         } catch (Exception e) {
             // Discord RPC is optional, don't fail plugin startup if it fails
-            System.err.println("Failed to initialize Discord RPC: " + e.getMessage());
-            e.printStackTrace();
+            LOG.warn(() -> "Failed to initialize Discord RPC", e);
         }
     }
 
@@ -0,0 +1,117 @@
+package net.vortexdevelopment.plugin.vinject;
+
+import com.intellij.openapi.components.Service;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.progress.Task;
+import com.intellij.openapi.project.DumbService;
+import com.intellij.openapi.project.Project;
+import net.vortexdevelopment.plugin.vinject.utils.VInjectLogger;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Runs the VInject project scans one at a time.
+ * <p>
+ * A request while a scan is running cancels it and queues a single follow-up scan, further requests are merged
+ * into that one. A full reparse request takes precedence over a startup scan. So repeated reloads never run
+ * concurrent scans over the registry and there is only ever one progress indicator.
+ */
+@Service(Service.Level.PROJECT)
+public final class RescanScheduler {
+
+    private static final VInjectLogger LOG = VInjectLogger.getInstance(RescanScheduler.class);
+
+    public enum Mode {
+        /** Restore the registry snapshot or load the components from the index */
+        STARTUP,
+        /** Reprocess every component file with PSI */
+        FULL_REPARSE;
+
+        private Mode merge(@Nullable Mode other) {
+            return this == FULL_REPARSE || other == FULL_REPARSE ? FULL_REPARSE : STARTUP;
+        }
+    }
+
+    private final Project project;
+    // Guarded by this
+    private boolean running;
+    private @Nullable Mode runningMode;
+    private @Nullable ProgressIndicator runningIndicator;
+    private @Nullable Mode pending;
+
+    public RescanScheduler(@NotNull Project project) {
+        this.project = project;
+    }
+
+    public static RescanScheduler getInstance(@NotNull Project project) {
+        return project.getService(RescanScheduler.class);
+    }
+
+    /**
+     * Request a scan once the project is in smart mode
+     */
+    public synchronized void schedule(@NotNull Mode mode) {
+        if (running) {
+            // The queued scan also has to do the work of the scan it replaces
+            pending = (pending == null ? mode : pending.merge(mode)).merge(runningMode);
+            if (runningIndicator != null && runningIndicator.isRunning()) {
+                // The running scan works on outdated state, the pending one replaces it
+                LOG.debug(() -> "Cancelling running VInject scan of " + project.getName() + ", a new one is queued");
+                runningIndicator.cancel();
+            }
+            return;
+        }
+        running = true;
+        start(mode);
+    }
+
+    /**
+     * @return Whether a scan is running or queued
+     */
+    public synchronized boolean isBusy() {
+        return running;
+    }
+
+    private void start(Mode mode) {
+        runningMode = mode;
+        DumbService.getInstance(project).runWhenSmart(() -> {
+            if (project.isDisposed()) {
+                finished();
+                return;
+            }
+            String title = mode == Mode.STARTUP ? "Scanning VInject annotations" : "Rescanning VInject annotations";
+            ProgressManager.getInstance().run(new Task.Backgroundable(project, title, true) {
+                @Override
+                public void run(@NotNull ProgressIndicator indicator) {
+                    synchronized (RescanScheduler.this) {
+                        runningIndicator = indicator;
+                        if (pending != null) {
+                            // Requested again before this scan started, the queued one covers it
+                            indicator.cancel();
+                        }
+                    }
+                    indicator.checkCanceled();
+                    Plugin.scan(project, indicator, mode);
+                }
+
+                @Override
+                public void onFinished() {
+                    finished();
+                }
+            });
+        });
+    }
+
+    private synchronized void finished() {
+        runningIndicator = null;
+        runningMode = null;
+        Mode next = pending;
+        pending = null;
+        if (next == null || project.isDisposed()) {
+            running = false;
+            return;
+        }
+        start(next);
+    }
+}
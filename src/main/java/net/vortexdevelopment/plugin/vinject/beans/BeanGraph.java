@@ -0,0 +1,164 @@
+package net.vortexdevelopment.plugin.vinject.beans;
+
+import com.intellij.openapi.util.text.StringUtil;
+import net.vortexdevelopment.plugin.vinject.container.ClassData;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Immutable snapshot of the registered classes and the edges between them, built from {@link ClassData} only.
+ * Classes are addressed by their index, sorted by simple name. Edges go from a provider to the classes
+ * consuming one of its beans.
+ */
+final class BeanGraph {
+
+    static final BeanGraph EMPTY = build(List.of());
+
+    private final String[] names;
+    private final String[] annotations;
+    private final String[] modules;
+    private final String[][] provides;
+    private final String[][] dependencies;
+    private final int[][] consumers;
+    private final List<String> annotationTypes;
+    private final List<String> moduleNames;
+
+    private BeanGraph(String[] names, String[] annotations, String[] modules, String[][] provides, String[][] dependencies, int[][] consumers) {
+        this.names = names;
+        this.annotations = annotations;
+        this.modules = modules;
+        this.provides = provides;
+        this.dependencies = dependencies;
+        this.consumers = consumers;
+        this.annotationTypes = distinct(annotations);
+        this.moduleNames = distinct(modules);
+    }
+
+    static @NotNull BeanGraph build(@NotNull Collection<ClassData> classes) {
+        ClassData[] sorted = classes.toArray(new ClassData[0]);
+        Arrays.sort(sorted, Comparator.comparing((ClassData data) -> StringUtil.getShortName(data.getQualifiedName()))
+                .thenComparing(ClassData::getQualifiedName));
+
+        int size = sorted.length;
+        String[] names = new String[size];
+        String[] annotations = new String[size];
+        String[] modules = new String[size];
+        String[][] provides = new String[size][];
+        String[][] dependencies = new String[size][];
+        // Provided FQN -> indices of the classes providing it, a class always provides itself
+        Map<String, List<Integer>> providers = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            ClassData data = sorted[i];
+            names[i] = data.getQualifiedName();
+            annotations[i] = data.getAnnotation();
+            modules[i] = data.getModuleName();
+            provides[i] = data.getBeans().stream().filter(bean -> !bean.equals(data.getQualifiedName())).sorted().toArray(String[]::new);
+            dependencies[i] = data.getDependencies().stream().sorted().toArray(String[]::new);
+            providers.computeIfAbsent(names[i], k -> new ArrayList<>(1)).add(i);
+            for (String bean : provides[i]) {
+                providers.computeIfAbsent(bean, k -> new ArrayList<>(1)).add(i);
+            }
+        }
+
+        List<TreeSet<Integer>> consumerSets = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            consumerSets.add(null);
+        }
+        for (int consumer = 0; consumer < size; consumer++) {
+            for (String dependency : dependencies[consumer]) {
+                for (int provider : providers.getOrDefault(dependency, List.of())) {
+                    if (provider == consumer) {
+                        continue;
+                    }
+                    TreeSet<Integer> set = consumerSets.get(provider);
+                    if (set == null) {
+                        set = new TreeSet<>();
+                        consumerSets.set(provider, set);
+                    }
+                    set.add(consumer);
+                }
+            }
+        }
+        int[][] consumers = new int[size][];
+        for (int i = 0; i < size; i++) {
+            TreeSet<Integer> set = consumerSets.get(i);
+            consumers[i] = set == null ? new int[0] : set.stream().mapToInt(Integer::intValue).toArray();
+        }
+        return new BeanGraph(names, annotations, modules, provides, dependencies, consumers);
+    }
+
+    int size() {
+        return names.length;
+    }
+
+    @NotNull String getName(int index) {
+        return names[index];
+    }
+
+    @Nullable String getAnnotation(int index) {
+        return annotations[index];
+    }
+
+    @Nullable String getModule(int index) {
+        return modules[index];
+    }
+
+    @NotNull String[] getProvides(int index) {
+        return provides[index];
+    }
+
+    @NotNull String[] getDependencies(int index) {
+        return dependencies[index];
+    }
+
+    int[] getConsumers(int index) {
+        return consumers[index];
+    }
+
+    /**
+     * @return Annotation FQNs used by the registered classes, sorted
+     */
+    @NotNull List<String> getAnnotationTypes() {
+        return annotationTypes;
+    }
+
+    /**
+     * @return Names of the modules containing registered classes, sorted
+     */
+    @NotNull List<String> getModuleNames() {
+        return moduleNames;
+    }
+
+    /**
+     * Indices of the classes matching both filters, a null filter matches everything
+     */
+    int[] filter(@Nullable String annotation, @Nullable String module) {
+        int[] result = new int[names.length];
+        int count = 0;
+        for (int i = 0; i < names.length; i++) {
+            if ((annotation == null || annotation.equals(annotations[i])) && (module == null || module.equals(modules[i]))) {
+                result[count++] = i;
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    private static List<String> distinct(String[] values) {
+        TreeSet<String> set = new TreeSet<>();
+        for (String value : values) {
+            if (value != null) {
+                set.add(value);
+            }
+        }
+        return List.copyOf(set);
+    }
+}
@@ -0,0 +1,249 @@
+package net.vortexdevelopment.plugin.vinject.beans;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.swing.event.EventListenerList;
+import javax.swing.event.TreeModelEvent;
+import javax.swing.event.TreeModelListener;
+import javax.swing.tree.TreeModel;
+import javax.swing.tree.TreePath;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Tree model over a {@link BeanGraph}. Nodes are created on request from the graph's index arrays,
+ * nothing is materialized before a row is shown or expanded, so the model stays cheap for thousands of beans.
+ * <p>
+ * The root lists the filtered classes. Each class has up to three groups: the beans it provides,
+ * the classes it depends on and the classes consuming its beans. Consumers are class nodes again,
+ * so provider → consumer edges can be followed by expanding them.
+ */
+final class BeanTreeModel implements TreeModel {
+
+    private final Object root = new Object();
+    private final EventListenerList listeners = new EventListenerList();
+    private BeanGraph graph = BeanGraph.EMPTY;
+    private int[] visible = new int[0];
+
+    void setGraph(@NotNull BeanGraph graph, int[] visible) {
+        this.graph = graph;
+        this.visible = visible;
+        TreeModelEvent event = new TreeModelEvent(this, new TreePath(root));
+        for (TreeModelListener listener : listeners.getListeners(TreeModelListener.class)) {
+            listener.treeStructureChanged(event);
+        }
+    }
+
+    @NotNull BeanGraph getGraph() {
+        return graph;
+    }
+
+    /**
+     * Path as names which survive a rebuild of the graph: qualified names for classes and beans, kinds for groups
+     */
+    @NotNull List<String> toKeys(@NotNull TreePath path) {
+        List<String> keys = new ArrayList<>(path.getPathCount() - 1);
+        for (int i = 1; i < path.getPathCount(); i++) {
+            keys.add(key(path.getPathComponent(i)));
+        }
+        return keys;
+    }
+
+    /**
+     * @return Path in the current graph for keys from {@link #toKeys}, null if a node of it no longer exists
+     */
+    @Nullable TreePath fromKeys(@NotNull List<String> keys) {
+        TreePath path = new TreePath(root);
+        for (String key : keys) {
+            Object parent = path.getLastPathComponent();
+            Object found = null;
+            int count = getChildCount(parent);
+            for (int i = 0; i < count && found == null; i++) {
+                Object child = getChild(parent, i);
+                if (key.equals(key(child))) {
+                    found = child;
+                }
+            }
+            if (found == null) {
+                return null;
+            }
+            path = path.pathByAddingChild(found);
+        }
+        return path;
+    }
+
+    private String key(Object node) {
+        if (node instanceof ClassNode classNode) {
+            return graph.getName(classNode.index);
+        }
+        if (node instanceof GroupNode group) {
+            return group.kind.name();
+        }
+        return ((BeanNode) node).qualifiedName;
+    }
+
+    @Override
+    public Object getRoot() {
+        return root;
+    }
+
+    @Override
+    public Object getChild(Object parent, int index) {
+        if (parent == root) {
+            return new ClassNode(visible[index]);
+        }
+        if (parent instanceof ClassNode classNode) {
+            int found = -1;
+            for (Kind kind : Kind.values()) {
+                if (groupSize(classNode.index, kind) > 0 && ++found == index) {
+                    return new GroupNode(classNode.index, kind);
+                }
+            }
+            throw new IndexOutOfBoundsException(index);
+        }
+        if (parent instanceof GroupNode group) {
+            return switch (group.kind) {
+                case PROVIDES -> new BeanNode(graph.getProvides(group.classIndex)[index]);
+                case DEPENDS_ON -> new BeanNode(graph.getDependencies(group.classIndex)[index]);
+                case CONSUMERS -> new ClassNode(graph.getConsumers(group.classIndex)[index]);
+            };
+        }
+        throw new IndexOutOfBoundsException(index);
+    }
+
+    @Override
+    public int getChildCount(Object parent) {
+        if (parent == root) {
+            return visible.length;
+        }
+        if (parent instanceof ClassNode classNode) {
+            int count = 0;
+            for (Kind kind : Kind.values()) {
+                if (groupSize(classNode.index, kind) > 0) {
+                    count++;
+                }
+            }
+            return count;
+        }
+        if (parent instanceof GroupNode group) {
+            return groupSize(group.classIndex, group.kind);
+        }
+        return 0;
+    }
+
+    int groupSize(int classIndex, Kind kind) {
+        return switch (kind) {
+            case PROVIDES -> graph.getProvides(classIndex).length;
+            case DEPENDS_ON -> graph.getDependencies(classIndex).length;
+            case CONSUMERS -> graph.getConsumers(classIndex).length;
+        };
+    }
+
+    @Override
+    public boolean isLeaf(Object node) {
+        return node instanceof BeanNode || (node != root && getChildCount(node) == 0);
+    }
+
+    @Override
+    public int getIndexOfChild(Object parent, Object child) {
+        int count = getChildCount(parent);
+        for (int i = 0; i < count; i++) {
+            if (getChild(parent, i).equals(child)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public void valueForPathChanged(TreePath path, Object newValue) {
+        // Read only
+    }
+
+    @Override
+    public void addTreeModelListener(TreeModelListener listener) {
+        listeners.add(TreeModelListener.class, listener);
+    }
+
+    @Override
+    public void removeTreeModelListener(TreeModelListener listener) {
+        listeners.remove(TreeModelListener.class, listener);
+    }
+
+    enum Kind {
+        PROVIDES("Provides"),
+        DEPENDS_ON("Depends on"),
+        CONSUMERS("Consumers");
+
+        private final String title;
+
+        Kind(String title) {
+            this.title = title;
+        }
+
+        String getTitle() {
+            return title;
+        }
+    }
+
+    static final class ClassNode {
+
+        final int index;
+
+        ClassNode(int index) {
+            this.index = index;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof ClassNode other && other.index == index;
+        }
+
+        @Override
+        public int hashCode() {
+            return index;
+        }
+    }
+
+    static final class GroupNode {
+
+        final int classIndex;
+        final Kind kind;
+
+        GroupNode(int classIndex, Kind kind) {
+            this.classIndex = classIndex;
+            this.kind = kind;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof GroupNode other && other.classIndex == classIndex && other.kind == kind;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(classIndex, kind);
+        }
+    }
+
+    static final class BeanNode {
+
+        final String qualifiedName;
+
+        BeanNode(String qualifiedName) {
+            this.qualifiedName = qualifiedName;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof BeanNode other && other.qualifiedName.equals(qualifiedName);
+        }
+
+        @Override
+        public int hashCode() {
+            return qualifiedName.hashCode();
+        }
+    }
+}
@@ -0,0 +1,254 @@
+package net.vortexdevelopment.plugin.vinject.beans;
+
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.application.ModalityState;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.project.DumbAware;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.ComboBox;
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.openapi.wm.ToolWindow;
+import com.intellij.openapi.wm.ToolWindowFactory;
+import com.intellij.psi.JavaPsiFacade;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.ui.ColoredTreeCellRenderer;
+import com.intellij.ui.DoubleClickListener;
+import com.intellij.ui.SimpleTextAttributes;
+import com.intellij.ui.components.JBLabel;
+import com.intellij.ui.components.JBScrollPane;
+import com.intellij.ui.content.Content;
+import com.intellij.ui.content.ContentFactory;
+import com.intellij.ui.treeStructure.Tree;
+import com.intellij.util.concurrency.AppExecutorUtil;
+import com.intellij.util.ui.JBUI;
+import com.intellij.util.ui.tree.TreeUtil;
+import net.vortexdevelopment.plugin.vinject.container.ClassDataManager;
+import net.vortexdevelopment.plugin.vinject.diagnostics.VInjectMetrics;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.swing.*;
+import javax.swing.tree.TreePath;
+import java.awt.*;
+import java.awt.event.MouseEvent;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * VInject Beans tool window, the registered components and beans with their provider → consumer edges.
+ * <p>
+ * The graph is built on a background thread from the {@link ClassDataManager} registry without touching PSI,
+ * and rebuilt when the registered beans change. The tree creates its nodes lazily and uses a fixed row height,
+ * so only the visible rows are laid out and rendered.
+ */
+public class BeansToolWindowFactory implements ToolWindowFactory, DumbAware {
+
+    @Override
+    public void createToolWindowContent(@NotNull Project project, @NotNull ToolWindow toolWindow) {
+        BeansPanel panel = new BeansPanel(project);
+        Content content = ContentFactory.getInstance().createContent(panel, "", false);
+        content.setDisposer(panel);
+        toolWindow.getContentManager().addContent(content);
+    }
+
+    private static final class BeansPanel extends JPanel implements Disposable {
+
+        private static final int REFRESH_INTERVAL_MS = 2000;
+        private static final String ALL_ANNOTATIONS = "All annotations";
+        private static final String ALL_MODULES = "All modules";
+
+        private final Project project;
+        private final BeanTreeModel model = new BeanTreeModel();
+        private final Tree tree = new Tree(model);
+        private final ComboBox<String> annotationFilter = new ComboBox<>();
+        private final ComboBox<String> moduleFilter = new ComboBox<>();
+        private final JBLabel status = new JBLabel();
+        private final Timer refreshTimer = new Timer(REFRESH_INTERVAL_MS, e -> refreshIfChanged());
+        private long builtModificationCount = -1;
+        private boolean building;
+        private boolean updatingFilters;
+
+        private BeansPanel(Project project) {
+            super(new BorderLayout());
+            this.project = project;
+
+            tree.setRootVisible(false);
+            tree.setShowsRootHandles(true);
+            // Fixed height rows let the tree skip measuring rows which are not visible
+            tree.setRowHeight(JBUI.CurrentTheme.Tree.rowHeight());
+            tree.setLargeModel(true);
+            tree.setCellRenderer(new BeanCellRenderer());
+            new DoubleClickListener() {
+                @Override
+                protected boolean onDoubleClick(@NotNull MouseEvent event) {
+                    return navigate(tree.getSelectionPath());
+                }
+            }.installOn(tree);
+
+            annotationFilter.addActionListener(e -> applyFilter());
+            moduleFilter.addActionListener(e -> applyFilter());
+            JButton refreshButton = new JButton("Refresh");
+            refreshButton.addActionListener(e -> rebuild());
+
+            JPanel toolbar = new JPanel(new FlowLayout(FlowLayout.LEFT));
+            toolbar.add(annotationFilter);
+            toolbar.add(moduleFilter);
+            toolbar.add(refreshButton);
+            toolbar.add(status);
+
+            add(toolbar, BorderLayout.NORTH);
+            add(new JBScrollPane(tree), BorderLayout.CENTER);
+
+            rebuild();
+            refreshTimer.start();
+        }
+
+        private void refreshIfChanged() {
+            long modificationCount = ClassDataManager.getInstance(project).getBeanRegistryTracker().getModificationCount();
+            if (modificationCount != builtModificationCount) {
+                rebuild();
+            }
+        }
+
+        private void rebuild() {
+            if (building || project.isDisposed()) {
+                return;
+            }
+            building = true;
+            status.setText("Loading...");
+            ClassDataManager manager = ClassDataManager.getInstance(project);
+            long modificationCount = manager.getBeanRegistryTracker().getModificationCount();
+            ReadAction.nonBlocking(() -> {
+                        long start = System.nanoTime();
+                        try {
+                            return BeanGraph.build(manager.getRegisteredClasses());
+                        } finally {
+                            VInjectMetrics.getInstance().record(VInjectMetrics.BEAN_GRAPH_BUILD, start);
+                        }
+                    })
+                    .expireWith(this)
+                    .finishOnUiThread(ModalityState.any(), graph -> {
+                        building = false;
+                        builtModificationCount = modificationCount;
+                        updateFilters(graph);
+                        show(graph);
+                    })
+                    .submit(AppExecutorUtil.getAppExecutorService())
+                    .onError(e -> SwingUtilities.invokeLater(() -> building = false));
+        }
+
+        private void updateFilters(BeanGraph graph) {
+            updatingFilters = true;
+            try {
+                fill(annotationFilter, ALL_ANNOTATIONS, graph.getAnnotationTypes());
+                fill(moduleFilter, ALL_MODULES, graph.getModuleNames());
+            } finally {
+                updatingFilters = false;
+            }
+        }
+
+        private static void fill(ComboBox<String> comboBox, String all, List<String> values) {
+            Object selected = comboBox.getSelectedItem();
+            comboBox.removeAllItems();
+            comboBox.addItem(all);
+            values.forEach(comboBox::addItem);
+            comboBox.setSelectedItem(selected != null && values.contains(selected) ? selected : all);
+        }
+
+        private void applyFilter() {
+            if (!updatingFilters) {
+                show(model.getGraph());
+            }
+        }
+
+        private void show(BeanGraph graph) {
+            int[] visible = graph.filter(selection(annotationFilter, ALL_ANNOTATIONS), selection(moduleFilter, ALL_MODULES));
+            // Node indexes change with the graph, expanded and selected rows are restored by name
+            List<List<String>> expanded = new ArrayList<>();
+            for (TreePath path : TreeUtil.collectExpandedPaths(tree)) {
+                expanded.add(model.toKeys(path));
+            }
+            List<List<String>> selected = new ArrayList<>();
+            for (TreePath path : TreeUtil.collectSelectedPaths(tree)) {
+                selected.add(model.toKeys(path));
+            }
+            model.setGraph(graph, visible);
+            for (List<String> keys : expanded) {
+                TreePath path = model.fromKeys(keys);
+                if (path != null) {
+                    tree.expandPath(path);
+                }
+            }
+            List<TreePath> selection = new ArrayList<>();
+            for (List<String> keys : selected) {
+                TreePath path = model.fromKeys(keys);
+                if (path != null) {
+                    selection.add(path);
+                }
+            }
+            tree.setSelectionPaths(selection.toArray(new TreePath[0]));
+            status.setText(visible.length + " of " + graph.size() + " classes");
+        }
+
+        private static @Nullable String selection(ComboBox<String> comboBox, String all) {
+            Object selected = comboBox.getSelectedItem();
+            return selected == null || all.equals(selected) ? null : (String) selected;
+        }
+
+        private boolean navigate(@Nullable TreePath path) {
+            if (path == null) {
+                return false;
+            }
+            Object node = path.getLastPathComponent();
+            String qualifiedName;
+            if (node instanceof BeanTreeModel.ClassNode classNode) {
+                qualifiedName = model.getGraph().getName(classNode.index);
+            } else if (node instanceof BeanTreeModel.BeanNode beanNode) {
+                qualifiedName = beanNode.qualifiedName;
+            } else {
+                return false;
+            }
+            // PSI is only resolved for the class the user asked for
+            PsiClass psiClass = JavaPsiFacade.getInstance(project).findClass(qualifiedName, GlobalSearchScope.allScope(project));
+            if (psiClass == null || !psiClass.canNavigate()) {
+                return false;
+            }
+            psiClass.navigate(true);
+            return true;
+        }
+
+        @Override
+        public void dispose() {
+            refreshTimer.stop();
+        }
+
+        private final class BeanCellRenderer extends ColoredTreeCellRenderer {
+
+            @Override
+            public void customizeCellRenderer(@NotNull JTree tree, Object value, boolean selected, boolean expanded,
+                                              boolean leaf, int row, boolean hasFocus) {
+                BeanGraph graph = model.getGraph();
+                if (value instanceof BeanTreeModel.ClassNode classNode) {
+                    String name = graph.getName(classNode.index);
+                    append(StringUtil.getShortName(name), SimpleTextAttributes.REGULAR_BOLD_ATTRIBUTES);
+                    String annotation = graph.getAnnotation(classNode.index);
+                    if (annotation != null) {
+                        append("  @" + StringUtil.getShortName(annotation), SimpleTextAttributes.REGULAR_ITALIC_ATTRIBUTES);
+                    }
+                    append("  " + StringUtil.getPackageName(name), SimpleTextAttributes.GRAYED_ATTRIBUTES);
+                    String module = graph.getModule(classNode.index);
+                    if (module != null) {
+                        append("  [" + module + "]", SimpleTextAttributes.GRAYED_ATTRIBUTES);
+                    }
+                } else if (value instanceof BeanTreeModel.GroupNode group) {
+                    append(group.kind.getTitle(), SimpleTextAttributes.REGULAR_ATTRIBUTES);
+                    append("  " + model.groupSize(group.classIndex, group.kind), SimpleTextAttributes.GRAYED_ATTRIBUTES);
+                } else if (value instanceof BeanTreeModel.BeanNode beanNode) {
+                    append(StringUtil.getShortName(beanNode.qualifiedName), SimpleTextAttributes.REGULAR_ATTRIBUTES);
+                    append("  " + StringUtil.getPackageName(beanNode.qualifiedName), SimpleTextAttributes.GRAYED_ATTRIBUTES);
+                }
+            }
+        }
+    }
+}
@@ -9,6 +9,7 @@ import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.psi.PsiClass;
 import com.intellij.psi.PsiJavaFile;
 import net.vortexdevelopment.plugin.vinject.container.ClassDataManager;
+import net.vortexdevelopment.plugin.vinject.utils.VInjectLogger;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.Arrays;
@@ -16,14 +17,17 @@ import java.util.Collection;
 import java.util.stream.Collectors;
 
 public class VInjectInspectionValidator extends InspectionValidator {
+
+    private static final VInjectLogger LOG = VInjectLogger.getInstance(VInjectInspectionValidator.class);
+
     protected VInjectInspectionValidator() {
         super("vinject.component.validator", "Validates component elements and classes", "VInject");
-        System.out.println("VInjectInspectionValidator created");
+        LOG.debug(() -> "VInjectInspectionValidator created");
     }
 
     @Override
     public boolean isAvailableOnScope(@NotNull CompileScope scope) {
-        System.out.println("isAvailableOnScope: " + scope.toString());
+        LOG.debug(() -> "isAvailableOnScope: " + scope);
         return true;
     }
 
@@ -32,8 +36,9 @@ public class VInjectInspectionValidator extends InspectionValidator {
         return Arrays.stream(context.getCompileScope().getFiles(JavaFileType.INSTANCE, true)).filter(virtualFile -> {
             //Check if the file is a component class
             if (virtualFile instanceof PsiJavaFile psiJavaFile) {
+                ClassDataManager classDataManager = ClassDataManager.getInstance(project);
                 for (PsiClass psiClass : psiJavaFile.getClasses()) {
-                    if (ClassDataManager.isComponentClass(psiClass) || ClassDataManager.isClassProvided(psiClass)) {
+                    if (classDataManager.isComponentClass(psiClass) || classDataManager.isClassProvided(psiClass)) {
                         return true;
                     }
                 }
@@ -1,26 +1,97 @@
 package net.vortexdevelopment.plugin.vinject.container;
 
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.module.ModuleUtilCore;
 import com.intellij.psi.PsiAnnotation;
 import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiClassType;
+import com.intellij.psi.PsiField;
 import com.intellij.psi.PsiMethod;
+import com.intellij.psi.PsiParameter;
 import com.intellij.psi.PsiType;
+import com.intellij.psi.util.TypeConversionUtil;
+import org.jetbrains.annotations.Nullable;
 
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Registry entry of a class. Names are interned in the {@link FqnTable} of the project, beans and dependencies are kept
+ * as sorted id arrays, so an entry costs a few ints per name instead of a concurrent set of strings.
+ * Entries are immutable, a changed class gets a new entry.
+ */
 public class ClassData {
 
-    private String qualifiedName;
-    private Set<String> beans = ConcurrentHashMap.newKeySet(); //Provided beans by the class
+    private final FqnTable table;
+    private final int id;
+    private final String qualifiedName; //Shared instance from the FqnTable
+    private final String annotation; //Component annotation the class was registered by
+    private final String moduleName;
+    private final int[] beans; //Provided beans by the class
+    private final int[] dependencies; //Classes injected into the class
 
-    public ClassData(String qualifiedName) {
-        this.qualifiedName = qualifiedName;
+    public ClassData(FqnTable table, String qualifiedName) {
+        this(table, qualifiedName, List.of());
+    }
+
+    public ClassData(FqnTable table, String qualifiedName, Collection<String> beans) {
+        this(table, qualifiedName, beans, List.of());
+    }
+
+    public ClassData(FqnTable table, String qualifiedName, Collection<String> beans, Collection<String> dependencies) {
+        this(table, qualifiedName, null, null, beans, dependencies);
+    }
+
+    public ClassData(FqnTable table, String qualifiedName, @Nullable String annotation, @Nullable String moduleName, Collection<String> beans, Collection<String> dependencies) {
+        this.table = table;
+        this.id = table.intern(qualifiedName);
+        this.qualifiedName = table.get(id);
+        this.annotation = annotation != null ? table.get(table.intern(annotation)) : null;
+        this.moduleName = moduleName;
+        this.beans = table.toSortedIds(beans);
+        this.dependencies = table.toSortedIds(dependencies);
     }
 
     public ClassData(PsiClass psiClass, PsiAnnotation annotation) {
-        this.qualifiedName = psiClass.getQualifiedName();
+        this(ClassDataManager.getInstance(psiClass.getProject()).getFqnTable(),
+                Objects.requireNonNull(psiClass.getQualifiedName()), annotation.getQualifiedName(), moduleName(psiClass),
+                collectBeans(psiClass, annotation), collectDependencies(psiClass));
+    }
+
+    private static @Nullable String moduleName(PsiClass psiClass) {
+        Module module = ModuleUtilCore.findModuleForPsiElement(psiClass);
+        return module != null ? module.getName() : null;
+    }
+
+    private static Set<String> collectDependencies(PsiClass psiClass) {
+        Set<String> dependencies = new LinkedHashSet<>();
+
+        //@Inject fields and constructor parameters
+        for (PsiField field : psiClass.getFields()) {
+            if (field.getAnnotation("net.vortexdevelopment.vinject.annotation.Inject") != null) {
+                addDependency(dependencies, field.getType());
+            }
+        }
+        for (PsiMethod constructor : psiClass.getConstructors()) {
+            for (PsiParameter parameter : constructor.getParameterList().getParameters()) {
+                addDependency(dependencies, parameter.getType());
+            }
+        }
+        return dependencies;
+    }
+
+    private static void addDependency(Set<String> dependencies, PsiType type) {
+        if (type instanceof PsiClassType classType) {
+            dependencies.add(classType.rawType().getCanonicalText());
+        }
+    }
+
+    private static Set<String> collectBeans(PsiClass psiClass, PsiAnnotation annotation) {
+        Set<String> beans = new LinkedHashSet<>();
 
         //Check if the class is annotated with @Service
         if (Objects.equals(annotation.getQualifiedName(), "net.vortexdevelopment.vinject.annotation.component.Service")) {
@@ -32,10 +103,10 @@ public class ClassData {
                         List<String> registerSubclasses = ClassDataManager.getClassArray(beanAnnotation, "registerSubclasses");
                         beans.addAll(registerSubclasses);
 
-                        //Add return type of the method
+                        //Add return type of the method, without type arguments like the index stores it
                         PsiType returnType = method.getReturnType();
                         if (returnType != null) {
-                            beans.add(returnType.getCanonicalText());
+                            beans.add(TypeConversionUtil.erasure(returnType).getCanonicalText());
                         }
                     }
                 }
@@ -60,10 +131,54 @@ public class ClassData {
             //Add the package name
             beans.add(psiClass.getQualifiedName());
         }
+        return beans;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public String getQualifiedName() {
+        return qualifiedName;
+    }
+
+    /**
+     * @return Read only view of the provided beans
+     */
+    public Set<String> getBeans() {
+        return new FqnTable.IdSet(table, beans);
+    }
+
+    /**
+     * @return Sorted ids of the provided beans in the {@link FqnTable}, must not be modified
+     */
+    public int[] getBeanIds() {
+        return beans;
+    }
+
+    public boolean providesBean(String fqn) {
+        int beanId = table.find(fqn);
+        return beanId >= 0 && Arrays.binarySearch(beans, beanId) >= 0;
+    }
+
+    public @Nullable String getAnnotation() {
+        return annotation;
+    }
+
+    public @Nullable String getModuleName() {
+        return moduleName;
+    }
+
+    /**
+     * @return Read only view of the classes injected into the class
+     */
+    public Set<String> getDependencies() {
+        return new FqnTable.IdSet(table, dependencies);
     }
 
     public boolean isClassProvided(PsiClass psiClass) {
-        return qualifiedName.equals(psiClass.getQualifiedName()) || beans.contains(psiClass.getQualifiedName());
+        String fqn = psiClass.getQualifiedName();
+        return fqn != null && (qualifiedName.equals(fqn) || providesBean(fqn));
     }
 
 
@@ -71,7 +186,10 @@ public class ClassData {
     public String toString() {
         return "ClassData{" +
                "qualifiedName='" + qualifiedName + '\'' +
-               ", beans=" + beans +
+               ", annotation='" + annotation + '\'' +
+               ", module='" + moduleName + '\'' +
+               ", beans=" + getBeans() +
+               ", dependencies=" + getDependencies() +
                '}';
     }
 }
@@ -1,192 +1,497 @@
 package net.vortexdevelopment.plugin.vinject.container;
 
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.components.Service;
 import com.intellij.openapi.module.Module;
 import com.intellij.openapi.module.ModuleManager;
+import com.intellij.openapi.module.ModuleUtilCore;
 import com.intellij.openapi.project.DumbService;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.roots.ModuleRootManager;
+import com.intellij.openapi.util.ModificationTracker;
+import com.intellij.openapi.util.SimpleModificationTracker;
 import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.JavaPsiFacade;
 import com.intellij.psi.PsiAnnotation;
 import com.intellij.psi.PsiAnnotationMemberValue;
 import com.intellij.psi.PsiArrayInitializerMemberValue;
 import com.intellij.psi.PsiClass;
 import com.intellij.psi.PsiClassObjectAccessExpression;
+import com.intellij.psi.PsiField;
 import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiImportList;
+import com.intellij.psi.PsiJavaCodeReferenceElement;
 import com.intellij.psi.PsiJavaFile;
+import com.intellij.psi.PsiLiteralExpression;
+import com.intellij.psi.PsiMethod;
+import com.intellij.psi.PsiModifierList;
 import com.intellij.psi.PsiNameValuePair;
+import com.intellij.psi.PsiParameterList;
 import com.intellij.psi.PsiTypeElement;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.intellij.psi.util.PsiModificationTracker;
+import com.intellij.util.indexing.FileBasedIndex;
 import net.vortexdevelopment.plugin.vinject.Plugin;
+import net.vortexdevelopment.plugin.vinject.diagnostics.VInjectMetrics;
 import net.vortexdevelopment.plugin.vinject.templates.TemplateManager;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
 
-public class ClassDataManager {
+/**
+ * Registry of the VInject components and component annotations of a single project.
+ */
+@Service(Service.Level.PROJECT)
+public final class ClassDataManager implements Disposable {
 
-    public static final Set<String> COMPONENT_ANNOTATIONS = ConcurrentHashMap.newKeySet();
     public static final Set<String> COMPONENT_ANNOTATION_PACKAGES = Set.of(
             "net.vortexdevelopment.vinject.annotation.component",
             "net.vortexdevelopment.vortexcore.vinject.annotation",
             "net.vortexdevelopment.vortexcore.command.annotation"
     );
-    private static Map<String, ClassData> classData = new ConcurrentHashMap<>();
-
-    static {
-        // Pre-register the standard annotations - Legacy support
-        COMPONENT_ANNOTATIONS.add("net.vortexdevelopment.vinject.annotation.component.Root");
-        COMPONENT_ANNOTATIONS.add("net.vortexdevelopment.vinject.annotation.component.Registry");
-        COMPONENT_ANNOTATIONS.add("net.vortexdevelopment.vinject.annotation.component.Service");
-        COMPONENT_ANNOTATIONS.add("net.vortexdevelopment.vinject.annotation.component.Component");
-        COMPONENT_ANNOTATIONS.add("net.vortexdevelopment.vinject.annotation.component.Repository");
-        COMPONENT_ANNOTATIONS.add("net.vortexdevelopment.vinject.annotation.util.Injectable");
-        COMPONENT_ANNOTATIONS.add("net.vortexdevelopment.vinject.annotation.yaml.YamlConfiguration");
-        COMPONENT_ANNOTATIONS.add("net.vortexdevelopment.vinject.annotation.yaml.YamlDirectory");
-        COMPONENT_ANNOTATIONS.add("net.vortexdevelopment.vinject.annotation.yaml.Element"); // Elements are injectable
-
-        COMPONENT_ANNOTATIONS.add("net.vortexdevelopment.vortexcore.vinject.annotation.Api");
+    // FNV-1a parameters of the class fingerprints
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    // Pre-registered standard annotations - Legacy support
+    private static final Set<String> DEFAULT_COMPONENT_ANNOTATIONS = Set.of(
+            "net.vortexdevelopment.vinject.annotation.component.Root",
+            "net.vortexdevelopment.vinject.annotation.component.Registry",
+            "net.vortexdevelopment.vinject.annotation.component.Service",
+            "net.vortexdevelopment.vinject.annotation.component.Component",
+            "net.vortexdevelopment.vinject.annotation.component.Repository",
+            "net.vortexdevelopment.vinject.annotation.util.Injectable",
+            "net.vortexdevelopment.vinject.annotation.yaml.YamlConfiguration",
+            "net.vortexdevelopment.vinject.annotation.yaml.YamlDirectory",
+            "net.vortexdevelopment.vinject.annotation.yaml.Element", // Elements are injectable
+
+            "net.vortexdevelopment.vortexcore.vinject.annotation.Api"
+    );
+
+    private final Project project;
+    private final Set<String> componentAnnotations = ConcurrentHashMap.newKeySet();
+    // Every annotation inside these packages is a component annotation
+    private final Set<String> componentAnnotationPackages = ConcurrentHashMap.newKeySet();
+    private volatile PackageTrie componentPackageTrie;
+    // Interned class and bean names of this project, dropped with the project
+    private final FqnTable fqnTable = new FqnTable();
+    private final Map<String, ClassData> classData = new ConcurrentHashMap<>();
+    // Reverse index of classData: provided bean FQN -> classes providing it
+    private final Map<String, Set<ClassData>> beanProviders = new ConcurrentHashMap<>();
+    // Source file of every registered class, persisted by the RegistrySnapshot
+    private final Map<String, VirtualFile> sourceFiles = new ConcurrentHashMap<>();
+    // Structural fingerprint of every processed class, used to skip rebuilding unchanged classes
+    private final Map<String, Long> fingerprints = new ConcurrentHashMap<>();
+    // Called for every injection point of every highlighting pass, the counter is looked up once
+    private final LongAdder isClassProvidedCounter = VInjectMetrics.getInstance().counter(VInjectMetrics.IS_CLASS_PROVIDED);
+    private final SimpleModificationTracker annotationRegistryTracker = new SimpleModificationTracker();
+    private final SimpleModificationTracker beanRegistryTracker = new SimpleModificationTracker();
+    // Edges consumer -> injected class and bean -> providing class, kept in sync with classData
+    private final DependencyGraph dependencyGraph = new DependencyGraph(fqnTable);
+
+    public ClassDataManager(@NotNull Project project) {
+        this.project = project;
+        registerDefaults();
+    }
+
+    private void registerDefaults() {
+        componentAnnotations.addAll(DEFAULT_COMPONENT_ANNOTATIONS);
+        componentAnnotationPackages.addAll(COMPONENT_ANNOTATION_PACKAGES);
+        componentPackageTrie = new PackageTrie(componentAnnotationPackages);
 
         // VortexCore - Add classData for org.bukkit.Plugin - It is always provided
-        classData.put("org.bukkit.plugin.Plugin", new ClassData("org.bukkit.plugin.Plugin"));
+        putClassData("org.bukkit.plugin.Plugin", new ClassData(fqnTable, "org.bukkit.plugin.Plugin"));
+    }
+
+    public static ClassDataManager getInstance(@NotNull Project project) {
+        return project.getService(ClassDataManager.class);
+    }
+
+    @Override
+    public void dispose() {
+        classData.clear();
+        beanProviders.clear();
+        fingerprints.clear();
+        sourceFiles.clear();
+        dependencyGraph.clear();
+        componentAnnotations.clear();
+        componentAnnotationPackages.clear();
+        fqnTable.clear();
+    }
+
+    /**
+     * Reset the registry to the state of a freshly opened project, the next scan registers everything again
+     */
+    public synchronized void clear() {
+        classData.clear();
+        beanProviders.clear();
+        fingerprints.clear();
+        sourceFiles.clear();
+        dependencyGraph.clear();
+        componentAnnotations.clear();
+        componentAnnotationPackages.clear();
+        registerDefaults();
+        annotationRegistryTracker.incModificationCount();
+        beanRegistryTracker.incModificationCount();
     }
 
     /**
-     * Process all annotations in a file and register new component annotations
+     * Process all annotations in a file and register new component annotations.
+     * Classes whose structural fingerprint did not change since they were last processed are skipped.
      */
-    public static void processFileChange(@Nullable PsiFile psiFile) {
+    public void processFileChange(@Nullable PsiFile psiFile) {
         if (psiFile == null || psiFile.getVirtualFile() == null) return;
 
-        if (DumbService.isDumb(psiFile.getProject())) {
+        if (DumbService.isDumb(project)) {
             //Queue the file for processing when not in dumb mode
-            DumbService.getInstance(psiFile.getProject()).runWhenSmart(() -> {
+            DumbService.getInstance(project).runWhenSmart(() -> {
                 processFileChange(psiFile);
             });
             return;
         }
 
         if (psiFile instanceof PsiJavaFile psiJavaFile) {
-            // Quick validation: skip if file is not valid or not a Java file
-            if (!psiJavaFile.isValid()) {
-                return;
+            long start = System.nanoTime();
+            try {
+                processJavaFile(psiJavaFile);
+            } finally {
+                VInjectMetrics.getInstance().record(VInjectMetrics.PROCESS_FILE_CHANGE, start);
             }
+        }
+    }
 
-            // Optimize: get classes array once and reuse
-            PsiClass[] classes = psiJavaFile.getClasses();
-            if (classes.length == 0) {
-                return; // Early exit if no classes
-            }
-            for (PsiClass psi : classes) {
-                // Process Registry annotations to discover new component annotations
-                PsiAnnotation registryAnnotation = psi.getAnnotation("net.vortexdevelopment.vinject.annotation.Registry");
-                if (registryAnnotation != null) {
-                    List<String> newAnnotations = getClassArray(registryAnnotation, "annotation");
-                    for (String annotation : newAnnotations) {
-                        registerComponentAnnotation(annotation);
-                    }
-                }
+    private void processJavaFile(PsiJavaFile psiJavaFile) {
+        // Quick validation: skip if file is not valid or not a Java file
+        if (!psiJavaFile.isValid()) {
+            return;
+        }
 
-                // Process Root annotations
-                PsiAnnotation rootAnnotation = psi.getAnnotation("net.vortexdevelopment.vinject.annotation.component.Root");
-                if (rootAnnotation != null) {
-                    ClassData classData = new ClassData(psi, rootAnnotation);
-                    List<String> componentAnnotations = getClassArray(rootAnnotation, "componentAnnotations");
-                    for (String annotation : componentAnnotations) {
-                        registerComponentAnnotation(annotation);
-                    }
-                    addClassData(psi, classData);
+        // Optimize: get classes array once and reuse
+        PsiClass[] classes = psiJavaFile.getClasses();
+        if (classes.length == 0) {
+            return; // Early exit if no classes
+        }
+        // Imports decide which annotations the names in the file refer to
+        PsiImportList importList = psiJavaFile.getImportList();
+        long importsFingerprint = hash(FNV_OFFSET_BASIS, importList != null ? importList.getText() : "");
+        for (PsiClass psi : classes) {
+            String qualifiedName = psi.getQualifiedName();
+            long fingerprint = fingerprint(psi, importsFingerprint);
+            if (qualifiedName != null && Objects.equals(fingerprints.get(qualifiedName), fingerprint)) {
+                // Nothing contributing to the component data changed since the class was last processed
+                continue;
+            }
+            processClass(psi);
+            if (qualifiedName != null) {
+                fingerprints.put(qualifiedName, fingerprint);
+            }
+        }
+    }
 
-                    PsiAnnotation[] registerTemplateAnnotations = ClassDataManager.getAnnotationArray(rootAnnotation, "templateDependencies");
-                    for (PsiAnnotation registerTemplateAnnotation : registerTemplateAnnotations) {
-                        //print values artifactId, groupId, version
-                        PsiAnnotationMemberValue artifactIdValue = registerTemplateAnnotation.findAttributeValue("artifactId");
-                        PsiAnnotationMemberValue groupIdValue = registerTemplateAnnotation.findAttributeValue("groupId");
-                        PsiAnnotationMemberValue versionValue = registerTemplateAnnotation.findAttributeValue("version");
+    private void processClass(PsiClass psi) {
+        // Process Registry annotations to discover new component annotations
+        PsiAnnotation registryAnnotation = psi.getAnnotation("net.vortexdevelopment.vinject.annotation.Registry");
+        if (registryAnnotation != null) {
+            List<String> newAnnotations = getClassArray(registryAnnotation, "annotation");
+            for (String annotation : newAnnotations) {
+                registerComponentAnnotation(annotation);
+            }
+            // Optional packages whose annotations all count as component annotations
+            for (String pkg : getStringArray(registryAnnotation, "packages")) {
+                registerComponentAnnotationPackage(pkg);
+            }
+        }
 
-                        if (artifactIdValue == null || groupIdValue == null || versionValue == null) {
-                            continue;
-                        }
+        // Process Root annotations
+        PsiAnnotation rootAnnotation = psi.getAnnotation("net.vortexdevelopment.vinject.annotation.component.Root");
+        if (rootAnnotation != null) {
+            ClassData classData = new ClassData(psi, rootAnnotation);
+            List<String> componentAnnotations = getClassArray(rootAnnotation, "componentAnnotations");
+            for (String annotation : componentAnnotations) {
+                registerComponentAnnotation(annotation);
+            }
+            addClassData(psi, classData);
 
-                        String artifactId = artifactIdValue.getText();
-                        String groupId = groupIdValue.getText();
-                        String version = versionValue.getText();
-
-                        //Check classpath for the dependency
-                        Project project = psi.getProject();
-                        VirtualFile dependencyRoot = getDependencyRoot(project, groupId, artifactId, version);
-                        if (dependencyRoot != null) {
-                            String rawPath = dependencyRoot.getPath();
-                            String absolutePath = rawPath.replace(".jar!/", ".jar");
-                            //Open the jar file and search for the vinject.templates directory to load templates
-                            TemplateManager.getInstance().registerTemplateFromJar(absolutePath);
-                        }
-                    }
+            PsiAnnotation[] registerTemplateAnnotations = getAnnotationArray(rootAnnotation, "templateDependencies");
+            for (PsiAnnotation registerTemplateAnnotation : registerTemplateAnnotations) {
+                //print values artifactId, groupId, version
+                PsiAnnotationMemberValue artifactIdValue = registerTemplateAnnotation.findAttributeValue("artifactId");
+                PsiAnnotationMemberValue groupIdValue = registerTemplateAnnotation.findAttributeValue("groupId");
+                PsiAnnotationMemberValue versionValue = registerTemplateAnnotation.findAttributeValue("version");
 
-                    //Check for the @RegisterTemplate annotation array
+                if (artifactIdValue == null || groupIdValue == null || versionValue == null) {
                     continue;
                 }
 
-                // Process RegisterTemplate annotations
-                PsiAnnotation registerTemplateAnnotation = psi.getAnnotation("net.vortexdevelopment.vinject.annotation.RegisterTemplate");
-                if (registerTemplateAnnotation != null) {
-                    PsiAnnotationMemberValue annotationFqcnValue = registerTemplateAnnotation.findAttributeValue("annotationFqcn");
-                    PsiAnnotationMemberValue resourceValue = registerTemplateAnnotation.findAttributeValue("resource");
-                    PsiAnnotationMemberValue nameValue = registerTemplateAnnotation.findAttributeValue("name");
-
-                    if (annotationFqcnValue != null && resourceValue != null && nameValue != null) {
-                        String annotationFqcn = annotationFqcnValue.getText();
-                        String resource = resourceValue.getText();
-                        String name = nameValue.getText();
-                        TemplateManager.getInstance().registerTemplateFromFile(resource, name, annotationFqcn, psi.getProject());
-                    }
-                    continue;
+                String artifactId = artifactIdValue.getText();
+                String groupId = groupIdValue.getText();
+                String version = versionValue.getText();
+
+                //Check classpath for the dependency
+                VirtualFile dependencyRoot = getDependencyRoot(groupId, artifactId, version);
+                if (dependencyRoot != null) {
+                    //Read the vinject/templates directory of the dependency to load templates
+                    TemplateManager.getInstance().registerTemplatesFromRoot(dependencyRoot);
                 }
+            }
 
-                // Check for any component annotation
-                boolean isComponent = false;
-                for (PsiAnnotation annotation : psi.getAnnotations()) {
-                    String annotationFqn = annotation.getQualifiedName();
-                    if (annotationFqn != null) {
-                        boolean isPackageMatch = false;
-                        for (String pkg : COMPONENT_ANNOTATION_PACKAGES) {
-                            if (annotationFqn.startsWith(pkg + ".")) {
-                                isPackageMatch = true;
-                                break;
-                            }
-                        }
+            //Check for the @RegisterTemplate annotation array
+            return;
+        }
 
-                        if (COMPONENT_ANNOTATIONS.contains(annotationFqn) || isPackageMatch) {
-                            ClassData classData = new ClassData(psi, annotation);
-                            addClassData(psi, classData);
-                            isComponent = true;
-                            break;
-                        }
-                    }
+        // Process RegisterTemplate annotations
+        PsiAnnotation registerTemplateAnnotation = psi.getAnnotation("net.vortexdevelopment.vinject.annotation.RegisterTemplate");
+        if (registerTemplateAnnotation != null) {
+            PsiAnnotationMemberValue annotationFqcnValue = registerTemplateAnnotation.findAttributeValue("annotationFqcn");
+            PsiAnnotationMemberValue resourceValue = registerTemplateAnnotation.findAttributeValue("resource");
+            PsiAnnotationMemberValue nameValue = registerTemplateAnnotation.findAttributeValue("name");
+
+            if (annotationFqcnValue != null && resourceValue != null && nameValue != null) {
+                String annotationFqcn = annotationFqcnValue.getText();
+                String resource = resourceValue.getText();
+                String name = nameValue.getText();
+                TemplateManager.getInstance().registerTemplateFromFile(resource, name, annotationFqcn, project);
+            }
+            return;
+        }
+
+        // Check for any component annotation
+        boolean isComponent = false;
+        for (PsiAnnotation annotation : psi.getAnnotations()) {
+            String annotationFqn = annotation.getQualifiedName();
+            if (annotationFqn != null) {
+                if (isComponentAnnotation(annotationFqn)) {
+                    ClassData classData = new ClassData(psi, annotation);
+                    addClassData(psi, classData);
+                    isComponent = true;
+                    break;
                 }
+            }
+        }
 
-                // If not a component, remove from tracking
-                if (!isComponent) {
-                    removeClassData(psi);
+        // If not a component, remove from tracking
+        if (!isComponent) {
+            removeClassData(psi);
+        }
+    }
+
+    /**
+     * Computes a structural fingerprint of a class covering everything {@link #processClass(PsiClass)} reads:
+     * class annotations with their values (including registerSubclasses), @Bean method signatures, the types of
+     * @Inject fields, constructor parameters and the version of the component annotation registry.
+     * Only source text is hashed, nothing is resolved.
+     */
+    private long fingerprint(PsiClass psi, long importsFingerprint) {
+        long hash = (importsFingerprint ^ annotationRegistryTracker.getModificationCount()) * FNV_PRIME;
+        PsiModifierList modifierList = psi.getModifierList();
+        hash = hash(hash, modifierList != null ? modifierList.getText() : "");
+        for (PsiMethod method : psi.getMethods()) {
+            if (!isBeanMethodCandidate(method)) {
+                continue;
+            }
+            hash = hash(hash, method.getModifierList().getText());
+            PsiTypeElement returnType = method.getReturnTypeElement();
+            hash = hash(hash, returnType != null ? returnType.getText() : "");
+        }
+        for (PsiField field : psi.getFields()) {
+            PsiModifierList fieldModifiers = field.getModifierList();
+            if (fieldModifiers == null || !hasAnnotationNamed(fieldModifiers, "Inject")) {
+                continue;
+            }
+            hash = hash(hash, fieldModifiers.getText());
+            hash = hash(hash, field.getTypeElement() != null ? field.getTypeElement().getText() : "");
+        }
+        for (PsiMethod constructor : psi.getConstructors()) {
+            PsiParameterList parameters = constructor.getParameterList();
+            hash = hash(hash, parameters.getText());
+        }
+        return hash;
+    }
+
+    private static boolean isBeanMethodCandidate(PsiMethod method) {
+        return hasAnnotationNamed(method.getModifierList(), "Bean");
+    }
+
+    private static boolean hasAnnotationNamed(PsiModifierList modifierList, String shortName) {
+        for (PsiAnnotation annotation : modifierList.getAnnotations()) {
+            PsiJavaCodeReferenceElement reference = annotation.getNameReferenceElement();
+            if (reference != null && shortName.equals(reference.getReferenceName())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // 64 bit FNV-1a
+    private static long hash(long hash, CharSequence text) {
+        for (int i = 0; i < text.length(); i++) {
+            hash ^= text.charAt(i);
+            hash *= FNV_PRIME;
+        }
+        // Separator, so that ("ab", "c") and ("a", "bc") differ
+        hash ^= 0xFF;
+        hash *= FNV_PRIME;
+        return hash;
+    }
+
+    /**
+     * Collect the files that register component annotations or templates.
+     * These still need a full PSI pass, every other component is loaded from the {@link ComponentIndex}.
+     *
+     * @return Files annotated with @Root, @Registry or @RegisterTemplate
+     */
+    public Collection<VirtualFile> collectRegistryFiles() {
+        FileBasedIndex index = FileBasedIndex.getInstance();
+        GlobalSearchScope scope = GlobalSearchScope.projectScope(project);
+        Set<VirtualFile> files = new LinkedHashSet<>();
+        files.addAll(index.getContainingFiles(ComponentIndex.NAME, ComponentIndex.ROOT_ANNOTATION, scope));
+        files.addAll(index.getContainingFiles(ComponentIndex.NAME, ComponentIndex.REGISTRY_ANNOTATION, scope));
+        files.addAll(index.getContainingFiles(ComponentIndex.NAME, ComponentIndex.REGISTER_TEMPLATE_ANNOTATION, scope));
+        return files;
+    }
+
+    /**
+     * Collect the files declaring at least one class annotated with a known component annotation.
+     *
+     * @return Files containing component classes
+     */
+    public Collection<VirtualFile> collectComponentFiles() {
+        FileBasedIndex index = FileBasedIndex.getInstance();
+        GlobalSearchScope scope = GlobalSearchScope.projectScope(project);
+        Set<VirtualFile> files = new LinkedHashSet<>();
+        for (String annotationFqn : index.getAllKeys(ComponentIndex.NAME, project)) {
+            if (isComponentAnnotation(annotationFqn)) {
+                files.addAll(index.getContainingFiles(ComponentIndex.NAME, annotationFqn, scope));
+            }
+        }
+        return files;
+    }
+
+    /**
+     * Register every component class of the project from the {@link ComponentIndex} without building any PSI tree.
+     * Names the index stored with several candidates are resolved through the class name index.
+     * Component annotations registered by @Registry or @Root have to be known before calling this.
+     *
+     * @return Files of the classes with a type none of whose candidates exists, such as a member class inherited
+     * from a superclass. They have to be processed with PSI
+     */
+    public List<VirtualFile> loadComponentsFromIndex() {
+        FileBasedIndex index = FileBasedIndex.getInstance();
+        GlobalSearchScope scope = GlobalSearchScope.projectScope(project);
+        JavaPsiFacade facade = JavaPsiFacade.getInstance(project);
+        GlobalSearchScope allScope = GlobalSearchScope.allScope(project);
+        Map<String, Boolean> existing = new HashMap<>();
+        Predicate<String> exists = fqn -> existing.computeIfAbsent(fqn,
+                name -> facade.findClass(name.replace("[]", ""), allScope) != null);
+
+        Map<String, Set<String>> components = new HashMap<>();
+        Map<String, Set<String>> dependencies = new HashMap<>();
+        Map<String, String> annotations = new HashMap<>();
+        Map<String, String> modules = new HashMap<>();
+        Map<String, VirtualFile> files = new HashMap<>();
+        Set<String> unresolved = new HashSet<>();
+        Set<VirtualFile> unresolvedFiles = new LinkedHashSet<>();
+        for (String annotationFqn : index.getAllKeys(ComponentIndex.NAME, project)) {
+            if (!isComponentAnnotation(annotationFqn)) {
+                continue;
+            }
+            // Other indexes must not be queried while processing the values, the entries are resolved afterwards
+            Map<VirtualFile, List<ComponentIndex.Entry>> indexed = new LinkedHashMap<>();
+            index.processValues(ComponentIndex.NAME, annotationFqn, null, (file, entries) -> {
+                indexed.computeIfAbsent(file, k -> new ArrayList<>()).addAll(entries);
+                return true;
+            }, scope);
+
+            indexed.forEach((file, entries) -> {
+                Module module = ModuleUtilCore.findModuleForFile(file, project);
+                for (ComponentIndex.Entry entry : entries) {
+                    // Stored under every candidate of its annotation, only the one the annotation resolves to counts
+                    if (!annotationFqn.equals(resolve(entry.getAnnotation(), exists))) {
+                        continue;
+                    }
+                    List<String> beans = resolveAll(entry.getBeans(), exists);
+                    List<String> classDependencies = resolveAll(entry.getDependencies(), exists);
+                    if (beans == null || classDependencies == null) {
+                        unresolved.add(entry.getQualifiedName());
+                        unresolvedFiles.add(file);
+                        continue;
+                    }
+                    annotations.putIfAbsent(entry.getQualifiedName(), annotationFqn);
+                    files.putIfAbsent(entry.getQualifiedName(), file);
+                    if (module != null) {
+                        modules.putIfAbsent(entry.getQualifiedName(), module.getName());
+                    }
+                    // A class can carry more than one component annotation, merge the beans of all of them
+                    components.computeIfAbsent(entry.getQualifiedName(), k -> new LinkedHashSet<>()).addAll(beans);
+                    dependencies.computeIfAbsent(entry.getQualifiedName(), k -> new LinkedHashSet<>()).addAll(classDependencies);
                 }
+            });
+        }
+        components.forEach((qualifiedName, beans) -> {
+            if (!unresolved.contains(qualifiedName)) {
+                restoreClassData(new ClassData(fqnTable, qualifiedName, annotations.get(qualifiedName), modules.get(qualifiedName),
+                        beans, dependencies.getOrDefault(qualifiedName, Set.of())), files.get(qualifiedName));
+            }
+        });
+        return new ArrayList<>(unresolvedFiles);
+    }
+
+    /**
+     * @param candidates Candidate FQNs of a name from the {@link ComponentIndex}, in lookup order
+     * @return The only candidate or the first one which exists, null if none exists
+     */
+    private static @Nullable String resolve(List<String> candidates, Predicate<String> exists) {
+        if (candidates.size() == 1) {
+            return candidates.get(0);
+        }
+        for (String candidate : candidates) {
+            if (exists.test(candidate)) {
+                return candidate;
             }
         }
+        return null;
+    }
+
+    /**
+     * @return Resolved names, null if one of them cannot be resolved
+     */
+    private static @Nullable List<String> resolveAll(List<List<String>> references, Predicate<String> exists) {
+        List<String> resolved = new ArrayList<>(references.size());
+        for (List<String> candidates : references) {
+            String fqn = resolve(candidates, exists);
+            if (fqn == null) {
+                return null;
+            }
+            resolved.add(fqn);
+        }
+        return resolved;
     }
 
     /**
      * Get the virtual directory for a dependency in the classpath
      *
-     * @param project    Current project
      * @param groupId    Maven/Gradle group ID
      * @param artifactId Maven/Gradle artifact ID
      * @param version    Version of the dependency
      * @return VirtualFile representing the dependency root, or null if not found
      */
-    private static VirtualFile getDependencyRoot(Project project, String groupId, String artifactId, String version) {
+    private VirtualFile getDependencyRoot(String groupId, String artifactId, String version) {
         // Clean up quoted values if present
         groupId = groupId.replaceAll("\"", "");
         artifactId = artifactId.replaceAll("\"", "");
@@ -229,8 +534,12 @@ public class ClassDataManager {
      * @param fqn Fully qualified name of the annotation
      * @return true if the annotation was newly added, false if it already existed
      */
-    public static boolean registerComponentAnnotation(String fqn) {
-        return COMPONENT_ANNOTATIONS.add(fqn);
+    public boolean registerComponentAnnotation(String fqn) {
+        boolean added = componentAnnotations.add(fqn);
+        if (added) {
+            annotationRegistryTracker.incModificationCount();
+        }
+        return added;
     }
 
     /**
@@ -239,57 +548,226 @@ public class ClassDataManager {
      * @param fqn Fully qualified name of the annotation
      * @return true if the annotation was removed, false if it didn't exist
      */
-    public static boolean unregisterComponentAnnotation(String fqn) {
-        return COMPONENT_ANNOTATIONS.remove(fqn);
+    public boolean unregisterComponentAnnotation(String fqn) {
+        boolean removed = componentAnnotations.remove(fqn);
+        if (removed) {
+            annotationRegistryTracker.incModificationCount();
+        }
+        return removed;
     }
 
-    public static void addClassData(PsiClass psiClass, ClassData data) {
-        classData.put(psiClass.getQualifiedName(), data);
+    /**
+     * Registers a package whose annotations are all component annotations
+     *
+     * @param pkg Package name, sub packages are included
+     * @return true if the package was newly added, false if it already existed
+     */
+    public synchronized boolean registerComponentAnnotationPackage(String pkg) {
+        if (pkg.isEmpty() || !componentAnnotationPackages.add(pkg)) {
+            return false;
+        }
+        // Packages are rarely added, rebuild the trie instead of synchronizing every lookup
+        componentPackageTrie = new PackageTrie(componentAnnotationPackages);
+        annotationRegistryTracker.incModificationCount();
+        return true;
     }
 
-    public static ClassData getClassData(PsiClass psiClass) {
-        return classData.get(psiClass.getQualifiedName());
+    /**
+     * Forget the fingerprints of all processed classes, so the next pass rebuilds every class
+     */
+    public void invalidateFingerprints() {
+        fingerprints.clear();
     }
 
-    public static void removeClassData(PsiClass psiClass) {
-        classData.remove(psiClass.getQualifiedName());
+    public void addClassData(PsiClass psiClass, ClassData data) {
+        putClassData(psiClass.getQualifiedName(), data);
+        PsiFile file = psiClass.getContainingFile();
+        if (file != null && file.getVirtualFile() != null) {
+            sourceFiles.put(data.getQualifiedName(), file.getVirtualFile());
+        }
     }
 
-    public static Set<String> getComponentAnnotations() {
-        return COMPONENT_ANNOTATIONS;
+    /**
+     * Register a class read from the index or a registry snapshot without PSI
+     *
+     * @param data Class to register
+     * @param file File declaring the class
+     */
+    public void restoreClassData(@NotNull ClassData data, @Nullable VirtualFile file) {
+        putClassData(data.getQualifiedName(), data);
+        if (file != null) {
+            sourceFiles.put(data.getQualifiedName(), file);
+        }
     }
 
-    public static boolean isComponentClass(PsiClass psiClass) {
-        for (String annotation : COMPONENT_ANNOTATIONS) {
-            if (psiClass.getAnnotation(annotation) != null) {
-                return true;
+    /**
+     * @return File declaring a registered class, null for classes without a known source
+     */
+    public @Nullable VirtualFile getSourceFile(@NotNull String qualifiedName) {
+        return sourceFiles.get(qualifiedName);
+    }
+
+    private synchronized void putClassData(String qualifiedName, ClassData data) {
+        // Keyed by the interned name of the entry, bean keys below are interned as well
+        ClassData previous = classData.put(data.getQualifiedName(), data);
+        if (previous != null) {
+            unregisterBeans(previous);
+        }
+        for (String bean : data.getBeans()) {
+            beanProviders.computeIfAbsent(bean, k -> ConcurrentHashMap.newKeySet()).add(data);
+        }
+        updateDependencyGraph(qualifiedName, previous, data);
+        beanRegistryTracker.incModificationCount();
+    }
+
+    /**
+     * Recomputes the outgoing edges of a changed class and of every bean it provided before or provides now.
+     * Only these nodes can have different edges, the graph maintains its cycle information incrementally.
+     */
+    private void updateDependencyGraph(String qualifiedName, @Nullable ClassData previous, @Nullable ClassData data) {
+        dependencyGraph.setDependencies(qualifiedName, collectDependencies(qualifiedName));
+        Set<String> beans = new LinkedHashSet<>();
+        if (previous != null) beans.addAll(previous.getBeans());
+        if (data != null) beans.addAll(data.getBeans());
+        for (String bean : beans) {
+            if (!bean.equals(qualifiedName)) {
+                dependencyGraph.setDependencies(bean, collectDependencies(bean));
             }
         }
-        for (PsiAnnotation annotation : psiClass.getAnnotations()) {
-            String qName = annotation.getQualifiedName();
-            if (qName != null) {
-                for (String pkg : COMPONENT_ANNOTATION_PACKAGES) {
-                    if (qName.startsWith(pkg + ".")) {
-                        return true;
-                    }
+    }
+
+    private Set<String> collectDependencies(String qualifiedName) {
+        Set<String> dependencies = new LinkedHashSet<>();
+        ClassData data = classData.get(qualifiedName);
+        if (data != null) {
+            dependencies.addAll(data.getDependencies());
+        }
+        // A bean depends on the classes providing it
+        Set<ClassData> providers = beanProviders.get(qualifiedName);
+        if (providers != null) {
+            for (ClassData provider : providers) {
+                if (!provider.getQualifiedName().equals(qualifiedName)) {
+                    dependencies.add(provider.getQualifiedName());
                 }
             }
         }
-        return false;
+        return dependencies;
     }
 
-    public static boolean isComponentAnnotation(@NotNull PsiAnnotation annotation) {
-        String qName = annotation.getQualifiedName();
-        if (qName == null) return false;
-        if (COMPONENT_ANNOTATIONS.contains(qName)) return true;
-        for (String pkg : COMPONENT_ANNOTATION_PACKAGES) {
-            if (qName.startsWith(pkg + ".")) {
+    private void unregisterBeans(ClassData data) {
+        for (String bean : data.getBeans()) {
+            beanProviders.computeIfPresent(bean, (k, providers) -> {
+                providers.remove(data);
+                return providers.isEmpty() ? null : providers;
+            });
+        }
+    }
+
+    public ClassData getClassData(PsiClass psiClass) {
+        return classData.get(psiClass.getQualifiedName());
+    }
+
+    /**
+     * Every registered class, a read only view of the registry which does not touch PSI
+     */
+    public Collection<ClassData> getRegisteredClasses() {
+        return Collections.unmodifiableCollection(classData.values());
+    }
+
+    public synchronized void removeClassData(PsiClass psiClass) {
+        String qualifiedName = psiClass.getQualifiedName();
+        if (qualifiedName == null) return;
+        ClassData removed = classData.remove(qualifiedName);
+        sourceFiles.remove(qualifiedName);
+        fingerprints.remove(qualifiedName);
+        if (removed != null) {
+            unregisterBeans(removed);
+            updateDependencyGraph(qualifiedName, removed, null);
+            beanRegistryTracker.incModificationCount();
+        }
+    }
+
+    /**
+     * Names of the registered classes and beans of this project
+     */
+    public FqnTable getFqnTable() {
+        return fqnTable;
+    }
+
+    /**
+     * Dependencies between the registered classes, used to detect circular injections
+     */
+    public DependencyGraph getDependencyGraph() {
+        return dependencyGraph;
+    }
+
+    public Set<String> getComponentAnnotations() {
+        return componentAnnotations;
+    }
+
+    public Set<String> getComponentAnnotationPackages() {
+        return Collections.unmodifiableSet(componentAnnotationPackages);
+    }
+
+    /**
+     * Tracks changes of the registered component annotations
+     */
+    public ModificationTracker getAnnotationRegistryTracker() {
+        return annotationRegistryTracker;
+    }
+
+    /**
+     * Tracks changes of the registered classes and their provided beans
+     */
+    public ModificationTracker getBeanRegistryTracker() {
+        return beanRegistryTracker;
+    }
+
+    /**
+     * Resolves every injection point of a class at once: @Inject fields and constructor parameters.
+     * The result is cached on the class until the PSI or the registered beans change, so all inspection
+     * callbacks of one highlighting pass share a single resolution.
+     *
+     * @param psiClass Class to inspect
+     * @return Resolved type and provided state of each injection point
+     */
+    public @NotNull InjectionPoints getInjectionPoints(@NotNull PsiClass psiClass) {
+        return CachedValuesManager.getCachedValue(psiClass, () -> CachedValueProvider.Result.create(
+                InjectionPoints.compute(psiClass, this),
+                PsiModificationTracker.getInstance(project),
+                beanRegistryTracker));
+    }
+
+    /**
+     * Checks whether a class is annotated with a component annotation.
+     * The result is cached on the class until the PSI or the registered component annotations change.
+     */
+    public boolean isComponentClass(PsiClass psiClass) {
+        return CachedValuesManager.getCachedValue(psiClass, () -> CachedValueProvider.Result.create(
+                computeIsComponentClass(psiClass),
+                PsiModificationTracker.getInstance(project),
+                annotationRegistryTracker));
+    }
+
+    private boolean computeIsComponentClass(PsiClass psiClass) {
+        for (PsiAnnotation annotation : psiClass.getAnnotations()) {
+            if (isComponentAnnotation(annotation)) {
                 return true;
             }
         }
         return false;
     }
 
+    public boolean isComponentAnnotation(@NotNull PsiAnnotation annotation) {
+        String qName = annotation.getQualifiedName();
+        if (qName == null) return false;
+        return isComponentAnnotation(qName);
+    }
+
+    public boolean isComponentAnnotation(@NotNull String qName) {
+        return componentAnnotations.contains(qName) || componentPackageTrie.matches(qName);
+    }
+
     public static PsiAnnotation[] getAnnotationArray(PsiAnnotation annotation, String propertyName) {
         PsiNameValuePair[] attributes = annotation.getParameterList().getAttributes();
         for (PsiNameValuePair attribute : attributes) {
@@ -315,6 +793,30 @@ public class ClassDataManager {
         return new PsiAnnotation[0];
     }
 
+    public static List<String> getStringArray(PsiAnnotation annotation, String propertyName) {
+        List<String> values = new ArrayList<>();
+        if (!annotation.isValid()) return values;
+        for (PsiNameValuePair attribute : annotation.getParameterList().getAttributes()) {
+            if (!propertyName.equals(attribute.getName())) {
+                continue;
+            }
+            PsiAnnotationMemberValue value = attribute.getValue();
+            if (value instanceof PsiLiteralExpression literal && literal.getValue() instanceof String string) {
+                //Single value
+                values.add(string);
+            }
+            if (value instanceof PsiArrayInitializerMemberValue arrayValue) {
+                //Array value
+                for (PsiAnnotationMemberValue arrayElement : arrayValue.getInitializers()) {
+                    if (arrayElement instanceof PsiLiteralExpression literal && literal.getValue() instanceof String string) {
+                        values.add(string);
+                    }
+                }
+            }
+        }
+        return values;
+    }
+
     public static List<String> getClassArray(PsiAnnotation annotation, String propertyName) {
         List<String> subClasses = new ArrayList<>();
         if (!annotation.isValid()) return subClasses;
@@ -353,10 +855,15 @@ public class ClassDataManager {
         return subClasses;
     }
 
-    public static boolean isClassProvided(@Nullable PsiClass psiClass) {
-        if (psiClass == null || psiClass.getQualifiedName() == null) {
+    public boolean isClassProvided(@Nullable PsiClass psiClass) {
+        isClassProvidedCounter.increment();
+        if (psiClass == null) {
+            return false;
+        }
+        String qualifiedName = psiClass.getQualifiedName();
+        if (qualifiedName == null) {
             return false;
         }
-        return classData.containsKey(psiClass.getQualifiedName()) || classData.values().stream().anyMatch(classData -> classData.isClassProvided(psiClass));
+        return classData.containsKey(qualifiedName) || beanProviders.containsKey(qualifiedName);
     }
 }
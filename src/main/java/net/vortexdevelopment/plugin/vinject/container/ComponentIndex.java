@@ -0,0 +1,453 @@
+package net.vortexdevelopment.plugin.vinject.container;
+
+import com.intellij.ide.highlighter.JavaFileType;
+import com.intellij.psi.PsiAnnotation;
+import com.intellij.psi.PsiAnnotationMemberValue;
+import com.intellij.psi.PsiArrayInitializerMemberValue;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiClassObjectAccessExpression;
+import com.intellij.psi.PsiClassType;
+import com.intellij.psi.PsiField;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiImportList;
+import com.intellij.psi.PsiImportStatement;
+import com.intellij.psi.PsiJavaCodeReferenceElement;
+import com.intellij.psi.PsiJavaFile;
+import com.intellij.psi.PsiMethod;
+import com.intellij.psi.PsiModifierList;
+import com.intellij.psi.PsiNameValuePair;
+import com.intellij.psi.PsiParameter;
+import com.intellij.psi.PsiTypeElement;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.util.indexing.DataIndexer;
+import com.intellij.util.indexing.DefaultFileTypeSpecificInputFilter;
+import com.intellij.util.indexing.FileBasedIndex;
+import com.intellij.util.indexing.FileBasedIndexExtension;
+import com.intellij.util.indexing.FileContent;
+import com.intellij.util.indexing.ID;
+import com.intellij.util.io.DataExternalizer;
+import com.intellij.util.io.EnumeratorStringDescriptor;
+import com.intellij.util.io.IOUtil;
+import com.intellij.util.io.KeyDescriptor;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Persistent index of class level annotations in Java source files.
+ * Keys are annotation FQNs, values are the annotated top level classes together with the beans they provide
+ * and the classes injected into them.
+ * <p>
+ * Nothing can be resolved while indexing, so class names are qualified through the file's imports, see {@link #qualify}.
+ * A name with a single meaning is stored as its FQN, any other name with all the FQNs it may stand for.
+ * The reader picks the first candidate which exists, see {@link ClassDataManager#loadComponentsFromIndex()}.
+ * An entry is stored under every candidate of its annotation, the reader skips it under the keys its annotation
+ * does not resolve to. Types are stored without type arguments.
+ */
+public class ComponentIndex extends FileBasedIndexExtension<String, List<ComponentIndex.Entry>> {
+
+    public static final ID<String, List<Entry>> NAME = ID.create("net.vortexdevelopment.vinject.components");
+
+    static final String ROOT_ANNOTATION = "net.vortexdevelopment.vinject.annotation.component.Root";
+    static final String REGISTRY_ANNOTATION = "net.vortexdevelopment.vinject.annotation.Registry";
+    static final String REGISTER_TEMPLATE_ANNOTATION = "net.vortexdevelopment.vinject.annotation.RegisterTemplate";
+    static final String SERVICE_ANNOTATION = "net.vortexdevelopment.vinject.annotation.component.Service";
+    static final String COMPONENT_ANNOTATION = "net.vortexdevelopment.vinject.annotation.component.Component";
+    static final String REPOSITORY_ANNOTATION = "net.vortexdevelopment.vinject.annotation.component.Repository";
+    static final String BEAN_ANNOTATION = "net.vortexdevelopment.vinject.annotation.Bean";
+    static final String INJECT_ANNOTATION = "net.vortexdevelopment.vinject.annotation.Inject";
+
+    @Override
+    public @NotNull ID<String, List<Entry>> getName() {
+        return NAME;
+    }
+
+    @Override
+    public @NotNull DataIndexer<String, List<Entry>, FileContent> getIndexer() {
+        return inputData -> {
+            // Cheap text check before touching the PSI, most files in a project have no class annotations at all
+            if (!containsAnnotation(inputData.getContentAsText())) {
+                return Collections.emptyMap();
+            }
+            PsiFile psiFile = inputData.getPsiFile();
+            if (!(psiFile instanceof PsiJavaFile javaFile)) {
+                return Collections.emptyMap();
+            }
+
+            Map<String, List<Entry>> result = new HashMap<>();
+            for (PsiClass psiClass : javaFile.getClasses()) {
+                String qualifiedName = psiClass.getQualifiedName();
+                PsiModifierList modifierList = psiClass.getModifierList();
+                if (qualifiedName == null || modifierList == null || modifierList.getAnnotations().length == 0) {
+                    continue;
+                }
+                List<List<String>> dependencies = collectDependencies(psiClass, javaFile);
+                for (PsiAnnotation annotation : modifierList.getAnnotations()) {
+                    List<String> annotationCandidates = qualify(annotation.getNameReferenceElement(), javaFile);
+                    for (String annotationFqn : annotationCandidates) {
+                        List<List<String>> beans = collectBeans(psiClass, qualifiedName, annotation, annotationFqn, javaFile);
+                        result.computeIfAbsent(annotationFqn, k -> new ArrayList<>())
+                                .add(new Entry(qualifiedName, annotationCandidates, beans, dependencies));
+                    }
+                }
+            }
+            return result;
+        };
+    }
+
+    @Override
+    public @NotNull KeyDescriptor<String> getKeyDescriptor() {
+        return EnumeratorStringDescriptor.INSTANCE;
+    }
+
+    @Override
+    public @NotNull DataExternalizer<List<Entry>> getValueExternalizer() {
+        return new DataExternalizer<>() {
+            @Override
+            public void save(@NotNull DataOutput out, List<Entry> value) throws IOException {
+                out.writeInt(value.size());
+                for (Entry entry : value) {
+                    IOUtil.writeUTF(out, entry.getQualifiedName());
+                    writeList(out, entry.getAnnotation());
+                    writeReferences(out, entry.getBeans());
+                    writeReferences(out, entry.getDependencies());
+                }
+            }
+
+            private void writeReferences(DataOutput out, List<List<String>> references) throws IOException {
+                out.writeInt(references.size());
+                for (List<String> candidates : references) {
+                    writeList(out, candidates);
+                }
+            }
+
+            private void writeList(DataOutput out, List<String> values) throws IOException {
+                out.writeInt(values.size());
+                for (String value : values) {
+                    IOUtil.writeUTF(out, value);
+                }
+            }
+
+            @Override
+            public List<Entry> read(@NotNull DataInput in) throws IOException {
+                int size = in.readInt();
+                List<Entry> entries = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    String qualifiedName = IOUtil.readUTF(in);
+                    List<String> annotation = readList(in);
+                    List<List<String>> beans = readReferences(in);
+                    List<List<String>> dependencies = readReferences(in);
+                    entries.add(new Entry(qualifiedName, annotation, beans, dependencies));
+                }
+                return entries;
+            }
+
+            private List<List<String>> readReferences(DataInput in) throws IOException {
+                int size = in.readInt();
+                List<List<String>> references = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    references.add(readList(in));
+                }
+                return references;
+            }
+
+            private List<String> readList(DataInput in) throws IOException {
+                int size = in.readInt();
+                List<String> values = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    values.add(IOUtil.readUTF(in));
+                }
+                return values;
+            }
+        };
+    }
+
+    @Override
+    public int getVersion() {
+        return 4;
+    }
+
+    @Override
+    public @NotNull FileBasedIndex.InputFilter getInputFilter() {
+        return new DefaultFileTypeSpecificInputFilter(JavaFileType.INSTANCE);
+    }
+
+    @Override
+    public boolean dependsOnFileContent() {
+        return true;
+    }
+
+    private static boolean containsAnnotation(CharSequence text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) == '@') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Mirrors the bean rules of {@link ClassData} without resolving any reference
+     *
+     * @return Candidate FQNs of every provided bean
+     */
+    private static List<List<String>> collectBeans(PsiClass psiClass, String qualifiedName, PsiAnnotation annotation, String annotationFqn, PsiJavaFile javaFile) {
+        Set<List<String>> beans = new LinkedHashSet<>();
+        switch (annotationFqn) {
+            case SERVICE_ANNOTATION -> {
+                for (PsiMethod method : psiClass.getMethods()) {
+                    PsiAnnotation beanAnnotation = findAnnotation(method.getModifierList(), BEAN_ANNOTATION, javaFile);
+                    if (beanAnnotation == null) {
+                        continue;
+                    }
+                    beans.addAll(getClassArray(beanAnnotation, "registerSubclasses", javaFile));
+                    PsiTypeElement returnType = method.getReturnTypeElement();
+                    if (returnType != null) {
+                        addType(beans, returnType, javaFile);
+                    }
+                }
+            }
+            case COMPONENT_ANNOTATION -> {
+                beans.addAll(getClassArray(annotation, "registerSubclasses", javaFile));
+                beans.add(List.of(qualifiedName));
+            }
+            case REPOSITORY_ANNOTATION -> beans.addAll(getClassArray(annotation, "registerSubclasses", javaFile));
+            case ROOT_ANNOTATION -> beans.add(List.of(qualifiedName));
+            default -> {
+            }
+        }
+        return new ArrayList<>(beans);
+    }
+
+    /**
+     * Mirrors the dependencies collected by {@link ClassData}: types of @Inject fields and constructor parameters
+     *
+     * @return Candidate FQNs of every injected class
+     */
+    private static List<List<String>> collectDependencies(PsiClass psiClass, PsiJavaFile javaFile) {
+        Set<List<String>> dependencies = new LinkedHashSet<>();
+        for (PsiField field : psiClass.getFields()) {
+            PsiModifierList modifierList = field.getModifierList();
+            if (modifierList != null && findAnnotation(modifierList, INJECT_ANNOTATION, javaFile) != null) {
+                addDependency(dependencies, field.getTypeElement(), javaFile);
+            }
+        }
+        for (PsiMethod constructor : psiClass.getConstructors()) {
+            for (PsiParameter parameter : constructor.getParameterList().getParameters()) {
+                addDependency(dependencies, parameter.getTypeElement(), javaFile);
+            }
+        }
+        return dependencies.isEmpty() ? List.of() : new ArrayList<>(dependencies);
+    }
+
+    private static void addDependency(Set<List<String>> dependencies, PsiTypeElement typeElement, PsiJavaFile javaFile) {
+        // Creating the type does not resolve it, primitives and arrays are not injectable
+        if (typeElement != null && typeElement.getType() instanceof PsiClassType) {
+            addType(dependencies, typeElement, javaFile);
+        }
+    }
+
+    /**
+     * Member annotations are matched by any of their candidates, the entry does not record which one they resolve to
+     */
+    private static PsiAnnotation findAnnotation(PsiModifierList modifierList, String annotationFqn, PsiJavaFile javaFile) {
+        for (PsiAnnotation annotation : modifierList.getAnnotations()) {
+            if (qualify(annotation.getNameReferenceElement(), javaFile).contains(annotationFqn)) {
+                return annotation;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return Candidate FQNs of every class of a class literal array
+     */
+    private static List<List<String>> getClassArray(PsiAnnotation annotation, String propertyName, PsiJavaFile javaFile) {
+        Set<List<String>> classes = new LinkedHashSet<>();
+        for (PsiNameValuePair attribute : annotation.getParameterList().getAttributes()) {
+            if (!propertyName.equals(attribute.getName())) {
+                continue;
+            }
+            PsiAnnotationMemberValue value = attribute.getValue();
+            if (value instanceof PsiClassObjectAccessExpression objectValue) {
+                addType(classes, objectValue.getOperand(), javaFile);
+            } else if (value instanceof PsiArrayInitializerMemberValue arrayValue) {
+                for (PsiAnnotationMemberValue arrayElement : arrayValue.getInitializers()) {
+                    if (arrayElement instanceof PsiClassObjectAccessExpression classExpr) {
+                        addType(classes, classExpr.getOperand(), javaFile);
+                    }
+                }
+            }
+        }
+        return new ArrayList<>(classes);
+    }
+
+    /**
+     * Adds the candidates of a type in the erased canonical form {@link ClassData} stores for it
+     */
+    private static void addType(Set<List<String>> types, PsiTypeElement typeElement, PsiJavaFile javaFile) {
+        PsiJavaCodeReferenceElement reference = typeElement.getInnermostComponentReferenceElement();
+        if (reference == null) {
+            // Primitive types need no resolving
+            types.add(List.of(typeElement.getType().getCanonicalText()));
+            return;
+        }
+        List<String> candidates = qualify(reference, javaFile);
+        if (candidates.isEmpty()) {
+            return;
+        }
+        String dimensions = "[]".repeat(typeElement.getType().getArrayDimensions());
+        types.add(dimensions.isEmpty() ? candidates : candidates.stream().map(candidate -> candidate + dimensions).toList());
+    }
+
+    /**
+     * Turns a class reference as written in source into the FQNs it may stand for, in the order Java looks them up.
+     * <p>
+     * A class of an enclosing scope or of the same file, a single type import and a fully qualified name have
+     * a single meaning and give one candidate. Any other name may be a class of the own package, of an on demand
+     * import or of java.lang, which cannot be told apart without resolving, so all of them are returned.
+     */
+    static List<String> qualify(@Nullable PsiJavaCodeReferenceElement reference, PsiJavaFile javaFile) {
+        if (reference == null) {
+            return List.of();
+        }
+        String name = stripTypeArguments(reference.getText());
+        if (name.isEmpty()) {
+            return List.of();
+        }
+        int dot = name.indexOf('.');
+        String simpleName = dot < 0 ? name : name.substring(0, dot);
+        String rest = dot < 0 ? "" : name.substring(dot);
+
+        // Enclosing classes and their member classes shadow imports
+        for (PsiClass scope = PsiTreeUtil.getParentOfType(reference, PsiClass.class); scope != null;
+             scope = PsiTreeUtil.getParentOfType(scope, PsiClass.class)) {
+            PsiClass member = simpleName.equals(scope.getName()) ? scope : scope.findInnerClassByName(simpleName, false);
+            if (member != null && member.getQualifiedName() != null) {
+                return List.of(member.getQualifiedName() + rest);
+            }
+        }
+        PsiImportList importList = javaFile.getImportList();
+        if (importList != null) {
+            for (PsiImportStatement importStatement : importList.getImportStatements()) {
+                PsiJavaCodeReferenceElement importReference = importStatement.getImportReference();
+                if (importStatement.isOnDemand() || importReference == null) {
+                    continue;
+                }
+                String imported = importReference.getText();
+                if (imported.equals(simpleName) || imported.endsWith("." + simpleName)) {
+                    return List.of(imported + rest);
+                }
+            }
+        }
+        for (PsiClass declared : javaFile.getClasses()) {
+            if (simpleName.equals(declared.getName()) && declared.getQualifiedName() != null) {
+                return List.of(declared.getQualifiedName() + rest);
+            }
+        }
+        if (dot >= 0 && Character.isLowerCase(name.charAt(0))) {
+            // Package names start lower case, the name is already qualified
+            return List.of(name);
+        }
+
+        List<String> candidates = new ArrayList<>();
+        String packageName = javaFile.getPackageName();
+        candidates.add(packageName.isEmpty() ? name : packageName + "." + name);
+        if (importList != null) {
+            for (PsiImportStatement importStatement : importList.getImportStatements()) {
+                PsiJavaCodeReferenceElement importReference = importStatement.getImportReference();
+                if (importStatement.isOnDemand() && importReference != null) {
+                    candidates.add(importReference.getText() + "." + name);
+                }
+            }
+        }
+        String javaLang = "java.lang." + name;
+        if (!candidates.contains(javaLang)) {
+            candidates.add(javaLang);
+        }
+        return candidates;
+    }
+
+    private static String stripTypeArguments(String text) {
+        StringBuilder builder = new StringBuilder(text.length());
+        int depth = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '<') {
+                depth++;
+            } else if (c == '>') {
+                depth--;
+            } else if (depth == 0 && !Character.isWhitespace(c)) {
+                builder.append(c);
+            }
+        }
+        return builder.toString();
+    }
+
+    /**
+     * A single annotated class stored in the index
+     */
+    public static final class Entry {
+
+        private final String qualifiedName;
+        private final List<String> annotation;
+        private final List<List<String>> beans;
+        private final List<List<String>> dependencies;
+
+        public Entry(String qualifiedName, List<String> annotation, List<List<String>> beans, List<List<String>> dependencies) {
+            this.qualifiedName = qualifiedName;
+            this.annotation = annotation;
+            this.beans = beans;
+            this.dependencies = dependencies;
+        }
+
+        public String getQualifiedName() {
+            return qualifiedName;
+        }
+
+        /**
+         * @return Candidate FQNs of the annotation the entry was indexed for
+         */
+        public List<String> getAnnotation() {
+            return annotation;
+        }
+
+        /**
+         * @return Candidate FQNs of every provided bean
+         */
+        public List<List<String>> getBeans() {
+            return beans;
+        }
+
+        /**
+         * @return Candidate FQNs of every injected class
+         */
+        public List<List<String>> getDependencies() {
+            return dependencies;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Entry entry)) return false;
+            return qualifiedName.equals(entry.qualifiedName) && annotation.equals(entry.annotation) && beans.equals(entry.beans)
+                    && dependencies.equals(entry.dependencies);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(qualifiedName, annotation, beans, dependencies);
+        }
+    }
+}
@@ -0,0 +1,682 @@
+package net.vortexdevelopment.plugin.vinject.container;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.VisibleForTesting;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Dependency graph of the components of a project, an edge {@code a -> b} means a can only be created after b.
+ * <p>
+ * Nodes are numbered by the ids of the class names in the project's {@link FqnTable}, edges are stored as
+ * primitive adjacency arrays.
+ * Strongly connected components (SCC) are maintained incrementally, so finding out whether a class is part
+ * of a cycle is a lookup:
+ * <ul>
+ *     <li>The SCCs are kept in a topological order. Inserting an edge that goes against the order runs the
+ *     Pearce-Kelly search, limited to the SCCs between both ends of the edge. When the edge closes a cycle, every SCC
+ *     on it is merged into one.</li>
+ *     <li>Removing an edge inside an SCC runs Tarjan's algorithm on the members of that SCC only, and the parts
+ *     it splits into take its place in the order.</li>
+ * </ul>
+ * Classes without any edge left are dropped from the graph, so depended on library classes and deleted classes
+ * do not pile up.
+ * All methods are synchronized, updates come from {@link ClassDataManager} and lookups from inspections.
+ */
+public final class DependencyGraph {
+
+    private static final int[] EMPTY = new int[0];
+
+    private final FqnTable table;
+    private int nodeCount;
+
+    // Per node: sorted outgoing targets, unsorted incoming sources with their count, and its SCC.
+    // Names of the table which are not part of the graph have no outgoing array
+    private int[][] out = new int[16][];
+    private int[][] in = new int[16][];
+    private int[] inSize = new int[16];
+    private int[] scc = new int[16];
+
+    // Per SCC: members with their count and position in the topological order
+    private int[][] members = new int[16][];
+    private int[] memberSize = new int[16];
+    private int[] position = new int[16];
+    private int sccCount;
+    private int[] freeSccs = new int[16];
+    private int freeSccCount;
+
+    // SCCs in topological order, removed SCCs leave -1 holes until the order is compacted
+    private int[] order = new int[16];
+    private int orderSize;
+    private int holes;
+
+    // Scratch state of the searches, stamps avoid clearing the visited flags between searches
+    private int[] visited = new int[16];
+    private int stamp;
+
+    // Incremented whenever the set of classes on a cycle or the members of a cycle change
+    private long cycleModificationCount;
+
+    public DependencyGraph(@NotNull FqnTable table) {
+        this.table = table;
+    }
+
+    /**
+     * Replaces the outgoing edges of a node
+     *
+     * @param source FQN of the dependent class
+     * @param targets FQNs of the classes it depends on
+     */
+    public synchronized void setDependencies(@NotNull String source, @NotNull Collection<String> targets) {
+        int node = findNode(source);
+        if (node < 0) {
+            if (targets.isEmpty()) {
+                return;
+            }
+            node = getOrCreateNode(source);
+        }
+        int[] newOut = new int[targets.size()];
+        int size = 0;
+        for (String target : targets) {
+            newOut[size++] = getOrCreateNode(target);
+        }
+        newOut = sortedUnique(newOut, size);
+        int[] oldOut = out[node];
+
+        // Walk both sorted arrays to find the kept, removed and added edges
+        IntStack kept = new IntStack();
+        IntStack removed = new IntStack();
+        IntStack added = new IntStack();
+        int i = 0;
+        int j = 0;
+        while (i < oldOut.length || j < newOut.length) {
+            if (j == newOut.length || (i < oldOut.length && oldOut[i] < newOut[j])) {
+                removed.push(oldOut[i++]);
+            } else if (i == oldOut.length || newOut[j] < oldOut[i]) {
+                added.push(newOut[j++]);
+            } else {
+                kept.push(oldOut[i++]);
+                j++;
+            }
+        }
+        if (removed.size == 0 && added.size == 0) {
+            return;
+        }
+
+        // The searches follow the outgoing arrays, so they must only ever contain edges already accounted for
+        out[node] = Arrays.copyOf(kept.items, kept.size);
+        for (int r = 0; r < removed.size; r++) {
+            removeEdge(node, removed.items[r]);
+        }
+        for (int a = 0; a < added.size; a++) {
+            out[node] = insertSorted(out[node], added.items[a]);
+            insertEdge(node, added.items[a]);
+        }
+        removeIfIsolated(node);
+        for (int r = 0; r < removed.size; r++) {
+            removeIfIsolated(removed.items[r]);
+        }
+    }
+
+    /**
+     * Removes the outgoing edges of a node, edges pointing to it stay
+     */
+    public synchronized void removeDependencies(@NotNull String source) {
+        if (findNode(source) >= 0) {
+            setDependencies(source, Collections.emptyList());
+        }
+    }
+
+    public synchronized boolean isInCycle(@NotNull String fqn) {
+        int node = findNode(fqn);
+        return node >= 0 && isCyclic(node);
+    }
+
+    /**
+     * Finds the shortest cycle going through a class
+     *
+     * @return FQNs of the cycle starting and ending with the class, empty if the class is not part of a cycle
+     */
+    public synchronized @NotNull List<String> findCycle(@NotNull String fqn) {
+        int start = findNode(fqn);
+        if (start < 0 || !isCyclic(start)) {
+            return Collections.emptyList();
+        }
+        // Breadth first search inside the SCC of the class, back to the class itself
+        int component = scc[start];
+        Map<Integer, Integer> parents = new HashMap<>();
+        int[] queue = new int[memberSize[component] + 1];
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = start;
+        int last = -1;
+        while (head < tail && last < 0) {
+            int node = queue[head++];
+            for (int target : out[node]) {
+                if (target == start) {
+                    last = node;
+                    break;
+                }
+                if (scc[target] == component && !parents.containsKey(target)) {
+                    parents.put(target, node);
+                    queue[tail++] = target;
+                }
+            }
+        }
+        List<String> cycle = new ArrayList<>();
+        cycle.add(fqn);
+        for (int node = last; node != start; node = parents.get(node)) {
+            cycle.add(table.get(node));
+        }
+        cycle.add(fqn);
+        Collections.reverse(cycle);
+        return cycle;
+    }
+
+    /**
+     * @return Number of classes with at least one edge, including classes that are only depended on
+     */
+    public synchronized int size() {
+        return nodeCount;
+    }
+
+    /**
+     * @return Count of changes of the cycles, unchanged as long as every edge update left all cycles as they were
+     */
+    public synchronized long getCycleModificationCount() {
+        return cycleModificationCount;
+    }
+
+    /**
+     * @return Slot of the SCC of a class in the topological order, -1 if the class is not part of the graph
+     */
+    @VisibleForTesting
+    synchronized int getOrderPosition(@NotNull String fqn) {
+        int node = findNode(fqn);
+        return node >= 0 ? position[scc[node]] : -1;
+    }
+
+    public synchronized void clear() {
+        out = new int[16][];
+        in = new int[16][];
+        inSize = new int[16];
+        scc = new int[16];
+        visited = new int[16];
+        nodeCount = 0;
+        sccCount = 0;
+        freeSccCount = 0;
+        orderSize = 0;
+        holes = 0;
+    }
+
+    private boolean isCyclic(int node) {
+        if (memberSize[scc[node]] > 1) {
+            return true;
+        }
+        return Arrays.binarySearch(out[node], node) >= 0;
+    }
+
+    /**
+     * @return Node of a class or -1 if it is not part of the graph
+     */
+    private int findNode(String fqn) {
+        int node = table.find(fqn);
+        return node >= 0 && node < out.length && out[node] != null ? node : -1;
+    }
+
+    private int getOrCreateNode(String fqn) {
+        int node = table.intern(fqn);
+        if (node >= out.length) {
+            int capacity = Math.max(out.length * 2, node + 1);
+            out = Arrays.copyOf(out, capacity);
+            in = Arrays.copyOf(in, capacity);
+            inSize = Arrays.copyOf(inSize, capacity);
+            scc = Arrays.copyOf(scc, capacity);
+        } else if (out[node] != null) {
+            return node;
+        }
+        nodeCount++;
+        out[node] = EMPTY;
+        in[node] = EMPTY;
+        inSize[node] = 0;
+
+        // A new node has no edges yet, it goes last in the order
+        int component = newScc();
+        members[component] = new int[]{node};
+        memberSize[component] = 1;
+        scc[node] = component;
+        appendToOrder(component);
+        return node;
+    }
+
+    /**
+     * Drops a node without edges. Such a node is always an SCC of its own.
+     */
+    private void removeIfIsolated(int node) {
+        if (out[node] == null || out[node].length > 0 || inSize[node] > 0) {
+            return;
+        }
+        int component = scc[node];
+        order[position[component]] = -1;
+        holes++;
+        releaseScc(component);
+        out[node] = null;
+        in[node] = null;
+        nodeCount--;
+        compactIfNeeded();
+    }
+
+    private void insertEdge(int source, int target) {
+        addIncoming(target, source);
+        if (source == target) {
+            cycleModificationCount++;
+        }
+        int from = scc[source];
+        int to = scc[target];
+        if (from == to || position[from] < position[to]) {
+            // Inside an SCC or already in topological order
+            return;
+        }
+        reorder(from, to);
+    }
+
+    private void removeEdge(int source, int target) {
+        removeIncoming(target, source);
+        if (source == target) {
+            cycleModificationCount++;
+        }
+        int component = scc[source];
+        if (component == scc[target] && memberSize[component] > 1) {
+            splitScc(component);
+        }
+    }
+
+    /**
+     * Pearce-Kelly reordering after inserting an edge from SCC {@code from} to SCC {@code to}
+     * where {@code to} comes first in the order. SCCs on a new cycle are merged.
+     */
+    private void reorder(int from, int to) {
+        int lowerBound = position[to];
+        int upperBound = position[from];
+
+        int forwardStamp = nextStamp();
+        IntStack forward = new IntStack();
+        boolean cycle = searchForward(to, upperBound, forwardStamp, forward, from);
+        int backwardStamp = nextStamp();
+        IntStack backward = new IntStack();
+        searchBackward(from, lowerBound, backwardStamp, backward);
+
+        // SCCs found by both searches lie on a path to -> from, which the new edge closes into a cycle
+        IntStack merged = new IntStack();
+        if (cycle) {
+            for (int i = 0; i < forward.size; i++) {
+                int component = forward.items[i];
+                if (visited[firstMember(component)] == backwardStamp) {
+                    merged.push(component);
+                }
+            }
+        }
+        int mergeStamp = nextStamp();
+        for (int i = 0; i < merged.size; i++) {
+            mark(merged.items[i], mergeStamp);
+        }
+
+        // The affected SCCs share the slots they already had, the SCCs reaching the edge go first
+        int[] slots = new int[forward.size + backward.size];
+        int slotCount = 0;
+        IntStack keptBackward = new IntStack();
+        for (int i = 0; i < backward.size; i++) {
+            int component = backward.items[i];
+            slots[slotCount++] = position[component];
+            if (visited[firstMember(component)] != mergeStamp) {
+                keptBackward.push(component);
+            }
+        }
+        IntStack keptForward = new IntStack();
+        for (int i = 0; i < forward.size; i++) {
+            int component = forward.items[i];
+            if (visited[firstMember(component)] != mergeStamp) {
+                slots[slotCount++] = position[component];
+                keptForward.push(component);
+            }
+        }
+        Arrays.sort(slots, 0, slotCount);
+        sortByPosition(keptBackward);
+        sortByPosition(keptForward);
+
+        int slot = 0;
+        for (int i = 0; i < keptBackward.size; i++) {
+            place(keptBackward.items[i], slots[slot++]);
+        }
+        if (merged.size > 0) {
+            place(mergeSccs(merged), slots[slot++]);
+        }
+        // The reached SCCs take the last slots, so none of them moves before an unaffected SCC pointing to it.
+        // Slots of merged SCCs in between are left empty
+        int forwardStart = slotCount - keptForward.size;
+        while (slot < forwardStart) {
+            order[slots[slot++]] = -1;
+            holes++;
+        }
+        for (int i = 0; i < keptForward.size; i++) {
+            place(keptForward.items[i], slots[slot++]);
+        }
+        compactIfNeeded();
+    }
+
+    /**
+     * Visits the SCCs reachable from {@code start} that are not after {@code upperBound} in the order
+     *
+     * @return true if {@code target} was reached, the search still visits everything in bounds in that case
+     */
+    private boolean searchForward(int start, int upperBound, int searchStamp, IntStack result, int target) {
+        boolean found = false;
+        IntStack stack = new IntStack();
+        mark(start, searchStamp);
+        stack.push(start);
+        while (stack.size > 0) {
+            int component = stack.pop();
+            result.push(component);
+            if (component == target) {
+                found = true;
+            }
+            for (int m = 0; m < memberSize[component]; m++) {
+                for (int next : out[members[component][m]]) {
+                    int nextScc = scc[next];
+                    if (position[nextScc] <= upperBound && visited[firstMember(nextScc)] != searchStamp) {
+                        mark(nextScc, searchStamp);
+                        stack.push(nextScc);
+                    }
+                }
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Visits the SCCs reaching {@code start} that are not before {@code lowerBound} in the order
+     */
+    private void searchBackward(int start, int lowerBound, int searchStamp, IntStack result) {
+        IntStack stack = new IntStack();
+        mark(start, searchStamp);
+        stack.push(start);
+        while (stack.size > 0) {
+            int component = stack.pop();
+            result.push(component);
+            for (int m = 0; m < memberSize[component]; m++) {
+                int node = members[component][m];
+                for (int k = 0; k < inSize[node]; k++) {
+                    int previousScc = scc[in[node][k]];
+                    if (position[previousScc] >= lowerBound && visited[firstMember(previousScc)] != searchStamp) {
+                        mark(previousScc, searchStamp);
+                        stack.push(previousScc);
+                    }
+                }
+            }
+        }
+    }
+
+    private int mergeSccs(IntStack components) {
+        int target = components.items[0];
+        int total = 0;
+        for (int i = 0; i < components.size; i++) {
+            total += memberSize[components.items[i]];
+        }
+        int[] merged = Arrays.copyOf(members[target], total);
+        int size = memberSize[target];
+        for (int i = 1; i < components.size; i++) {
+            int component = components.items[i];
+            for (int m = 0; m < memberSize[component]; m++) {
+                int node = members[component][m];
+                merged[size++] = node;
+                scc[node] = target;
+            }
+            releaseScc(component);
+        }
+        members[target] = merged;
+        memberSize[target] = size;
+        cycleModificationCount++;
+        return target;
+    }
+
+    /**
+     * Runs Tarjan's algorithm on the members of an SCC that lost an edge, and replaces it in the order
+     * with the SCCs it split into, if any
+     */
+    private void splitScc(int component) {
+        int count = memberSize[component];
+        int[] nodes = Arrays.copyOf(members[component], count);
+        Map<Integer, Integer> local = new HashMap<>(count * 2);
+        for (int i = 0; i < count; i++) {
+            local.put(nodes[i], i);
+        }
+
+        // Iterative Tarjan, deep dependency chains would overflow the stack otherwise
+        int[] index = new int[count];
+        int[] lowLink = new int[count];
+        int[] edgeCursor = new int[count];
+        boolean[] onStack = new boolean[count];
+        Arrays.fill(index, -1);
+        int[] tarjanStack = new int[count];
+        int tarjanSize = 0;
+        int[] callStack = new int[count];
+        int callSize = 0;
+        int nextIndex = 0;
+        List<int[]> parts = new ArrayList<>();
+
+        for (int root = 0; root < count; root++) {
+            if (index[root] >= 0) {
+                continue;
+            }
+            callStack[callSize++] = root;
+            index[root] = lowLink[root] = nextIndex++;
+            tarjanStack[tarjanSize++] = root;
+            onStack[root] = true;
+            while (callSize > 0) {
+                int v = callStack[callSize - 1];
+                int[] targets = out[nodes[v]];
+                if (edgeCursor[v] < targets.length) {
+                    Integer w = local.get(targets[edgeCursor[v]++]);
+                    if (w == null) {
+                        continue;
+                    }
+                    if (index[w] < 0) {
+                        index[w] = lowLink[w] = nextIndex++;
+                        tarjanStack[tarjanSize++] = w;
+                        onStack[w] = true;
+                        callStack[callSize++] = w;
+                    } else if (onStack[w]) {
+                        lowLink[v] = Math.min(lowLink[v], index[w]);
+                    }
+                    continue;
+                }
+                callSize--;
+                if (callSize > 0) {
+                    int parent = callStack[callSize - 1];
+                    lowLink[parent] = Math.min(lowLink[parent], lowLink[v]);
+                }
+                if (lowLink[v] == index[v]) {
+                    IntStack part = new IntStack();
+                    int w;
+                    do {
+                        w = tarjanStack[--tarjanSize];
+                        onStack[w] = false;
+                        part.push(nodes[w]);
+                    } while (w != v);
+                    parts.add(Arrays.copyOf(part.items, part.size));
+                }
+            }
+        }
+        if (parts.size() == 1) {
+            return;
+        }
+        cycleModificationCount++;
+
+        // Tarjan emits SCCs in reverse topological order
+        Collections.reverse(parts);
+        int at = position[component];
+        makeRoom(at, parts.size() - 1);
+        for (int i = 0; i < parts.size(); i++) {
+            int[] part = parts.get(i);
+            int target = i == 0 ? component : newScc();
+            members[target] = part;
+            memberSize[target] = part.length;
+            for (int node : part) {
+                scc[node] = target;
+            }
+            place(target, at + i);
+        }
+    }
+
+    private void addIncoming(int node, int source) {
+        if (inSize[node] == in[node].length) {
+            in[node] = Arrays.copyOf(in[node], Math.max(4, inSize[node] * 2));
+        }
+        in[node][inSize[node]++] = source;
+    }
+
+    private void removeIncoming(int node, int source) {
+        int[] sources = in[node];
+        for (int i = 0; i < inSize[node]; i++) {
+            if (sources[i] == source) {
+                sources[i] = sources[--inSize[node]];
+                return;
+            }
+        }
+    }
+
+    private int newScc() {
+        int component = freeSccCount > 0 ? freeSccs[--freeSccCount] : sccCount++;
+        if (component == members.length) {
+            int capacity = component * 2;
+            members = Arrays.copyOf(members, capacity);
+            memberSize = Arrays.copyOf(memberSize, capacity);
+            position = Arrays.copyOf(position, capacity);
+        }
+        return component;
+    }
+
+    private void releaseScc(int component) {
+        members[component] = null;
+        memberSize[component] = 0;
+        if (freeSccCount == freeSccs.length) {
+            freeSccs = Arrays.copyOf(freeSccs, freeSccCount * 2);
+        }
+        freeSccs[freeSccCount++] = component;
+    }
+
+    private void appendToOrder(int component) {
+        if (orderSize == order.length) {
+            order = Arrays.copyOf(order, orderSize * 2);
+        }
+        place(component, orderSize++);
+    }
+
+    private void place(int component, int slot) {
+        order[slot] = component;
+        position[component] = slot;
+    }
+
+    /**
+     * Shifts the order after a position to free {@code count} slots right after it
+     */
+    private void makeRoom(int at, int count) {
+        if (orderSize + count > order.length) {
+            order = Arrays.copyOf(order, Math.max(order.length * 2, orderSize + count));
+        }
+        System.arraycopy(order, at + 1, order, at + 1 + count, orderSize - at - 1);
+        orderSize += count;
+        for (int slot = at + 1 + count; slot < orderSize; slot++) {
+            if (order[slot] >= 0) {
+                position[order[slot]] = slot;
+            }
+        }
+    }
+
+    private void compactIfNeeded() {
+        if (holes * 2 <= orderSize) {
+            return;
+        }
+        int size = 0;
+        for (int slot = 0; slot < orderSize; slot++) {
+            if (order[slot] >= 0) {
+                place(order[slot], size++);
+            }
+        }
+        orderSize = size;
+        holes = 0;
+    }
+
+    private int firstMember(int component) {
+        return members[component][0];
+    }
+
+    // Visited flags are kept per node, an SCC is marked through its first member
+    private void mark(int component, int searchStamp) {
+        visited[firstMember(component)] = searchStamp;
+    }
+
+    private int nextStamp() {
+        if (visited.length < out.length) {
+            visited = Arrays.copyOf(visited, out.length);
+        }
+        return ++stamp;
+    }
+
+    private void sortByPosition(IntStack components) {
+        long[] keyed = new long[components.size];
+        for (int i = 0; i < components.size; i++) {
+            keyed[i] = ((long) position[components.items[i]] << 32) | components.items[i];
+        }
+        Arrays.sort(keyed);
+        for (int i = 0; i < keyed.length; i++) {
+            components.items[i] = (int) keyed[i];
+        }
+    }
+
+    private static int[] insertSorted(int[] values, int value) {
+        int at = -Arrays.binarySearch(values, value) - 1;
+        int[] result = new int[values.length + 1];
+        System.arraycopy(values, 0, result, 0, at);
+        result[at] = value;
+        System.arraycopy(values, at, result, at + 1, values.length - at);
+        return result;
+    }
+
+    private static int[] sortedUnique(int[] values, int size) {
+        if (size == 0) {
+            return EMPTY;
+        }
+        Arrays.sort(values, 0, size);
+        int unique = 1;
+        for (int i = 1; i < size; i++) {
+            if (values[i] != values[unique - 1]) {
+                values[unique++] = values[i];
+            }
+        }
+        return unique == values.length ? values : Arrays.copyOf(values, unique);
+    }
+
+    private static final class IntStack {
+
+        private int[] items = new int[8];
+        private int size;
+
+        private void push(int value) {
+            if (size == items.length) {
+                items = Arrays.copyOf(items, size * 2);
+            }
+            items[size++] = value;
+        }
+
+        private int pop() {
+            return items[--size];
+        }
+    }
+}
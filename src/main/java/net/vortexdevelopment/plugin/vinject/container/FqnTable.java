@@ -0,0 +1,148 @@
+package net.vortexdevelopment.plugin.vinject.container;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Symbol table interning fully qualified class names to int ids.
+ * <p>
+ * Every registered class and bean name is stored once, {@link ClassData} only keeps sorted id arrays and the
+ * {@link DependencyGraph} uses the ids as its node numbers. Each project has its own table, owned by its
+ * {@link ClassDataManager} and cleared when the project is closed. Ids are stable and never reused while
+ * the project is open.
+ */
+public final class FqnTable {
+
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int[] EMPTY = new int[0];
+
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+    // Written under the lock before the id is published in ids
+    private volatile String[] names = new String[INITIAL_CAPACITY];
+    private int size;
+
+    /**
+     * @return Id of the name, assigned on first use
+     */
+    public int intern(@NotNull String fqn) {
+        Integer id = ids.get(fqn);
+        return id != null ? id : add(fqn);
+    }
+
+    private synchronized int add(String fqn) {
+        Integer id = ids.get(fqn);
+        if (id != null) {
+            return id;
+        }
+        if (size == names.length) {
+            names = Arrays.copyOf(names, size * 2);
+        }
+        names[size] = fqn;
+        ids.put(fqn, size);
+        return size++;
+    }
+
+    /**
+     * Looks up a name without interning it
+     *
+     * @return Id of the name or -1 if it was never interned
+     */
+    public int find(@NotNull String fqn) {
+        Integer id = ids.get(fqn);
+        return id != null ? id : -1;
+    }
+
+    public @NotNull String get(int id) {
+        return names[id];
+    }
+
+    public int size() {
+        return ids.size();
+    }
+
+    /**
+     * Forget every name, ids handed out before must not be used afterwards
+     */
+    synchronized void clear() {
+        ids.clear();
+        names = new String[INITIAL_CAPACITY];
+        size = 0;
+    }
+
+    /**
+     * Interns all names and returns their ids sorted and without duplicates
+     */
+    int[] toSortedIds(@NotNull Collection<String> fqns) {
+        if (fqns.isEmpty()) {
+            return EMPTY;
+        }
+        int[] result = new int[fqns.size()];
+        int count = 0;
+        for (String fqn : fqns) {
+            result[count++] = intern(fqn);
+        }
+        Arrays.sort(result);
+        int unique = 0;
+        for (int i = 0; i < count; i++) {
+            if (unique == 0 || result[unique - 1] != result[i]) {
+                result[unique++] = result[i];
+            }
+        }
+        return unique == result.length ? result : Arrays.copyOf(result, unique);
+    }
+
+    /**
+     * Read only set of names backed by a sorted id array, membership is a binary search
+     */
+    static final class IdSet extends AbstractSet<String> {
+
+        private final FqnTable table;
+        private final int[] ids;
+
+        IdSet(FqnTable table, int[] ids) {
+            this.table = table;
+            this.ids = ids;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            if (!(o instanceof String fqn)) {
+                return false;
+            }
+            int id = table.find(fqn);
+            return id >= 0 && Arrays.binarySearch(ids, id) >= 0;
+        }
+
+        @Override
+        public @NotNull Iterator<String> iterator() {
+            return new Iterator<>() {
+                private int index;
+
+                @Override
+                public boolean hasNext() {
+                    return index < ids.length;
+                }
+
+                @Override
+                public String next() {
+                    if (index >= ids.length) {
+                        throw new NoSuchElementException();
+                    }
+                    return table.get(ids[index++]);
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return ids.length;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package net.vortexdevelopment.plugin.vinject.container;
+
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiClassType;
+import com.intellij.psi.PsiField;
+import com.intellij.psi.PsiMethod;
+import com.intellij.psi.PsiParameter;
+import com.intellij.psi.PsiVariable;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Resolution result of every injection point of a class: @Inject fields and constructor parameters.
+ * Computed once per class by {@link ClassDataManager#getInjectionPoints(PsiClass)} and shared between inspection passes.
+ */
+public final class InjectionPoints {
+
+    private static final String INJECT_ANNOTATION = "net.vortexdevelopment.vinject.annotation.Inject";
+
+    private final Map<PsiVariable, Entry> entries;
+
+    private InjectionPoints(Map<PsiVariable, Entry> entries) {
+        this.entries = entries;
+    }
+
+    static InjectionPoints compute(@NotNull PsiClass psiClass, @NotNull ClassDataManager classDataManager) {
+        Map<PsiVariable, Entry> entries = new HashMap<>();
+        for (PsiField field : psiClass.getFields()) {
+            if (field.getAnnotation(INJECT_ANNOTATION) != null) {
+                addEntry(entries, field, classDataManager);
+            }
+        }
+        for (PsiMethod constructor : psiClass.getConstructors()) {
+            for (PsiParameter parameter : constructor.getParameterList().getParameters()) {
+                addEntry(entries, parameter, classDataManager);
+            }
+        }
+        return new InjectionPoints(entries.isEmpty() ? Collections.emptyMap() : entries);
+    }
+
+    private static void addEntry(Map<PsiVariable, Entry> entries, PsiVariable variable, ClassDataManager classDataManager) {
+        if (variable.getType() instanceof PsiClassType psiClassType) {
+            PsiClass resolved = psiClassType.resolve();
+            entries.put(variable, new Entry(resolved, classDataManager.isClassProvided(resolved)));
+        }
+    }
+
+    /**
+     * Checks whether an injection point has a class type, resolved or not
+     */
+    public boolean contains(@NotNull PsiVariable variable) {
+        return entries.containsKey(variable);
+    }
+
+    /**
+     * @return The resolved class of an injection point, null if it could not be resolved or is not an injection point
+     */
+    public @Nullable PsiClass getResolvedClass(@NotNull PsiVariable variable) {
+        Entry entry = entries.get(variable);
+        return entry != null ? entry.resolvedClass : null;
+    }
+
+    /**
+     * @return true if the type of the injection point is provided by a component or bean
+     */
+    public boolean isProvided(@NotNull PsiVariable variable) {
+        Entry entry = entries.get(variable);
+        return entry != null && entry.provided;
+    }
+
+    private static final class Entry {
+
+        private final PsiClass resolvedClass;
+        private final boolean provided;
+
+        private Entry(@Nullable PsiClass resolvedClass, boolean provided) {
+            this.resolvedClass = resolvedClass;
+            this.provided = provided;
+        }
+    }
+}
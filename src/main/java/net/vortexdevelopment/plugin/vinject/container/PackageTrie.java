@@ -0,0 +1,87 @@
+package net.vortexdevelopment.plugin.vinject.container;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Immutable character trie of package names.
+ * Matching a FQN against all packages walks the name once and does not allocate,
+ * whatever the number of packages in the trie.
+ */
+public final class PackageTrie {
+
+    private final Node root = new Node();
+
+    public PackageTrie(@NotNull Collection<String> packages) {
+        for (String pkg : packages) {
+            Node node = root;
+            for (int i = 0; i < pkg.length(); i++) {
+                node = node.getOrCreateChild(pkg.charAt(i));
+            }
+            node.terminal = true;
+        }
+    }
+
+    /**
+     * Checks whether a FQN is located in one of the packages or their sub packages.
+     * Same result as testing {@code fqn.startsWith(pkg + ".")} for every package.
+     *
+     * @param fqn Fully qualified name to test
+     * @return true if the name starts with one of the packages followed by a dot
+     */
+    public boolean matches(@NotNull String fqn) {
+        Node node = root;
+        for (int i = 0; i < fqn.length(); i++) {
+            char c = fqn.charAt(i);
+            if (c == '.' && node.terminal) {
+                return true;
+            }
+            node = node.getChild(c);
+            if (node == null) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    private static final class Node {
+
+        private static final char[] NO_KEYS = new char[0];
+        private static final Node[] NO_CHILDREN = new Node[0];
+
+        // Sorted keys, children[i] belongs to keys[i]
+        private char[] keys = NO_KEYS;
+        private Node[] children = NO_CHILDREN;
+        private boolean terminal;
+
+        private Node getChild(char c) {
+            int index = Arrays.binarySearch(keys, c);
+            return index >= 0 ? children[index] : null;
+        }
+
+        private Node getOrCreateChild(char c) {
+            int index = Arrays.binarySearch(keys, c);
+            if (index >= 0) {
+                return children[index];
+            }
+            int insertAt = -index - 1;
+            Node child = new Node();
+
+            char[] newKeys = new char[keys.length + 1];
+            System.arraycopy(keys, 0, newKeys, 0, insertAt);
+            System.arraycopy(keys, insertAt, newKeys, insertAt + 1, keys.length - insertAt);
+            newKeys[insertAt] = c;
+
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(children, 0, newChildren, 0, insertAt);
+            System.arraycopy(children, insertAt, newChildren, insertAt + 1, children.length - insertAt);
+            newChildren[insertAt] = child;
+
+            keys = newKeys;
+            children = newChildren;
+            return child;
+        }
+    }
+}
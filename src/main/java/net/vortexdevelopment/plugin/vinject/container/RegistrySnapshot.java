@@ -0,0 +1,393 @@
+package net.vortexdevelopment.plugin.vinject.container;
+
+import com.intellij.openapi.application.PathManager;
+import com.intellij.openapi.fileEditor.FileDocumentManager;
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.module.ModuleManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.ModuleRootManager;
+import com.intellij.openapi.roots.ProjectFileIndex;
+import com.intellij.openapi.vfs.JarFileSystem;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.openapi.vfs.VirtualFileManager;
+import com.intellij.util.io.IOUtil;
+import net.vortexdevelopment.plugin.vinject.templates.TemplateManager;
+import net.vortexdevelopment.plugin.vinject.templates.UnregisteredTemplate;
+import net.vortexdevelopment.plugin.vinject.utils.VInjectLogger;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Versioned binary snapshot of a project's VInject registry, stored in the IDE system directory.
+ * <p>
+ * It holds the registered component annotations and packages, the template catalogue and the {@link ClassData}
+ * of every component grouped by source file. Each file is stored with its time stamp and length, so a restore
+ * only trusts unchanged files and returns the rest for rescanning. The snapshot is discarded entirely when the
+ * library roots changed (templates come from dependency jars), a file registering annotations changed or a template
+ * file of the project registered by @RegisterTemplate changed.
+ */
+public final class RegistrySnapshot {
+
+    private static final VInjectLogger LOG = VInjectLogger.getInstance(RegistrySnapshot.class);
+    private static final int MAGIC = 0x56494E4A; // "VINJ"
+    private static final int FORMAT_VERSION = 3;
+
+    private RegistrySnapshot() {
+    }
+
+    /**
+     * Restore the registry of a project from its snapshot. Has to be called in a read action in smart mode.
+     *
+     * @return Component files which are new or changed since the snapshot was written and have to be processed,
+     * null if there is no usable snapshot and the project has to be scanned completely
+     */
+    public static @Nullable List<VirtualFile> restore(@NotNull Project project) {
+        Path path = getPath(project);
+        ClassDataManager manager = ClassDataManager.getInstance(project);
+        Data data;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            data = Data.read(in);
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            LOG.warn(() -> "Discarding unreadable VInject registry snapshot " + path, e);
+            return null;
+        }
+        if (data == null || data.libraryFingerprint != libraryFingerprint(project)) {
+            return null;
+        }
+
+        // Registry files declare the component annotations, all of them have to be unchanged
+        Map<String, FileEntry> files = new HashMap<>();
+        for (FileEntry file : data.files) {
+            files.put(file.url, file);
+        }
+        Set<String> registryUrls = new HashSet<>();
+        for (VirtualFile registryFile : manager.collectRegistryFiles()) {
+            FileEntry entry = files.get(registryFile.getUrl());
+            if (entry == null || !entry.registry || !entry.matches(registryFile)) {
+                return null;
+            }
+            registryUrls.add(registryFile.getUrl());
+        }
+        // A deleted registry file would otherwise keep its annotations and packages registered
+        for (FileEntry file : data.files) {
+            if (file.registry && !registryUrls.contains(file.url)) {
+                return null;
+            }
+        }
+        // The snapshot holds the template texts, an edited template file has to be read again
+        VirtualFileManager fileManager = VirtualFileManager.getInstance();
+        List<VirtualFile> templateFiles = new ArrayList<>(data.templateFiles.size());
+        for (FileEntry entry : data.templateFiles) {
+            VirtualFile file = fileManager.findFileByUrl(entry.url);
+            if (file == null || !file.isValid() || !entry.matches(file)) {
+                return null;
+            }
+            templateFiles.add(file);
+        }
+
+        data.annotations.forEach(manager::registerComponentAnnotation);
+        data.packages.forEach(manager::registerComponentAnnotationPackage);
+        TemplateManager templateManager = TemplateManager.getInstance();
+        data.templates.forEach(templateManager::restoreTemplate);
+        templateFiles.forEach(templateManager::restoreTemplateFile);
+
+        Set<VirtualFile> restored = new HashSet<>();
+        for (FileEntry entry : data.files) {
+            VirtualFile file = fileManager.findFileByUrl(entry.url);
+            if (file == null || !file.isValid() || !entry.matches(file)) {
+                continue;
+            }
+            // Names are only interned once the snapshot is accepted
+            for (StoredClass storedClass : entry.classes) {
+                manager.restoreClassData(storedClass.toClassData(manager.getFqnTable()), file);
+            }
+            restored.add(file);
+        }
+
+        // Everything the index knows but the snapshot could not vouch for
+        List<VirtualFile> stale = new ArrayList<>();
+        for (VirtualFile file : manager.collectComponentFiles()) {
+            if (!restored.contains(file)) {
+                stale.add(file);
+            }
+        }
+        LOG.info(() -> "Restored VInject registry snapshot of " + project.getName() + ": " + restored.size()
+                + " files, " + stale.size() + " to rescan");
+        return stale;
+    }
+
+    /**
+     * Write the current registry of a project. Has to be called in a read action.
+     *
+     * @param registryFiles Files registering component annotations or templates
+     */
+    public static void save(@NotNull Project project, @NotNull Collection<VirtualFile> registryFiles) {
+        ClassDataManager manager = ClassDataManager.getInstance(project);
+        FileDocumentManager documentManager = FileDocumentManager.getInstance();
+
+        Map<VirtualFile, FileEntry> files = new LinkedHashMap<>();
+        for (VirtualFile registryFile : registryFiles) {
+            if (registryFile.isValid()) {
+                files.put(registryFile, new FileEntry(registryFile, true));
+            }
+        }
+        for (ClassData classData : manager.getRegisteredClasses()) {
+            VirtualFile file = manager.getSourceFile(classData.getQualifiedName());
+            // Unsaved changes are not reflected by the file stamps, such files are rescanned on the next start
+            if (file == null || !file.isValid() || documentManager.isFileModified(file)) {
+                continue;
+            }
+            files.computeIfAbsent(file, f -> new FileEntry(f, false)).classes.add(new StoredClass(classData));
+        }
+        // Template files of libraries are covered by the library fingerprint
+        ProjectFileIndex fileIndex = ProjectFileIndex.getInstance(project);
+        List<FileEntry> templateFiles = new ArrayList<>();
+        for (VirtualFile templateFile : TemplateManager.getInstance().getTemplateFiles()) {
+            if (templateFile.isValid() && fileIndex.isInContent(templateFile)) {
+                templateFiles.add(new FileEntry(templateFile, false));
+            }
+        }
+
+        Data data = new Data(libraryFingerprint(project),
+                new ArrayList<>(manager.getComponentAnnotations()),
+                new ArrayList<>(manager.getComponentAnnotationPackages()),
+                TemplateManager.getInstance().getRegisteredTemplates(),
+                templateFiles,
+                new ArrayList<>(files.values()));
+
+        Path path = getPath(project);
+        try {
+            Files.createDirectories(path.getParent());
+            Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                data.write(out);
+            }
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            LOG.warn(() -> "Failed to write VInject registry snapshot " + path, e);
+        }
+    }
+
+    private static Path getPath(Project project) {
+        return PathManager.getSystemDir().resolve("vinject").resolve("registry").resolve(project.getLocationHash() + ".bin");
+    }
+
+    /**
+     * Hash of the path, time stamp and length of every library and SDK class root of the project
+     */
+    static long libraryFingerprint(Project project) {
+        long hash = 17;
+        for (Module module : ModuleManager.getInstance(project).getModules()) {
+            for (VirtualFile root : ModuleRootManager.getInstance(module).orderEntries().getAllLibrariesAndSdkClassesRoots()) {
+                VirtualFile jar = JarFileSystem.getInstance().getVirtualFileForJar(root);
+                VirtualFile file = jar != null ? jar : root;
+                hash = 31 * hash + file.getPath().hashCode();
+                hash = 31 * hash + file.getTimeStamp();
+                hash = 31 * hash + file.getLength();
+            }
+        }
+        return hash;
+    }
+
+    private static final class Data {
+
+        private final long libraryFingerprint;
+        private final List<String> annotations;
+        private final List<String> packages;
+        private final List<UnregisteredTemplate> templates;
+        private final List<FileEntry> templateFiles;
+        private final List<FileEntry> files;
+
+        private Data(long libraryFingerprint, List<String> annotations, List<String> packages,
+                     List<UnregisteredTemplate> templates, List<FileEntry> templateFiles, List<FileEntry> files) {
+            this.libraryFingerprint = libraryFingerprint;
+            this.annotations = annotations;
+            this.packages = packages;
+            this.templates = templates;
+            this.templateFiles = templateFiles;
+            this.files = files;
+        }
+
+        private void write(DataOutput out) throws IOException {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeLong(libraryFingerprint);
+            writeStrings(out, annotations);
+            writeStrings(out, packages);
+            out.writeInt(templates.size());
+            for (UnregisteredTemplate template : templates) {
+                IOUtil.writeUTF(out, template.getName());
+                IOUtil.writeUTF(out, template.getText());
+                IOUtil.writeUTF(out, template.getExtension());
+            }
+            out.writeInt(templateFiles.size());
+            for (FileEntry file : templateFiles) {
+                writeFile(out, file);
+            }
+            out.writeInt(files.size());
+            for (FileEntry file : files) {
+                writeFile(out, file);
+                out.writeInt(file.classes.size());
+                for (StoredClass storedClass : file.classes) {
+                    IOUtil.writeUTF(out, storedClass.qualifiedName);
+                    writeNullable(out, storedClass.annotation);
+                    writeNullable(out, storedClass.moduleName);
+                    writeStrings(out, storedClass.beans);
+                    writeStrings(out, storedClass.dependencies);
+                }
+            }
+        }
+
+        private static void writeFile(DataOutput out, FileEntry file) throws IOException {
+            IOUtil.writeUTF(out, file.url);
+            out.writeLong(file.timeStamp);
+            out.writeLong(file.length);
+            out.writeBoolean(file.registry);
+        }
+
+        private static FileEntry readFile(DataInput in) throws IOException {
+            return new FileEntry(IOUtil.readUTF(in), in.readLong(), in.readLong(), in.readBoolean());
+        }
+
+        /**
+         * @return Snapshot data or null if it was written by another format version
+         */
+        private static @Nullable Data read(DataInput in) throws IOException {
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+                return null;
+            }
+            long libraryFingerprint = in.readLong();
+            List<String> annotations = readStrings(in);
+            List<String> packages = readStrings(in);
+            int templateCount = in.readInt();
+            List<UnregisteredTemplate> templates = new ArrayList<>(templateCount);
+            for (int i = 0; i < templateCount; i++) {
+                templates.add(new UnregisteredTemplate(IOUtil.readUTF(in), IOUtil.readUTF(in), IOUtil.readUTF(in)));
+            }
+            int templateFileCount = in.readInt();
+            List<FileEntry> templateFiles = new ArrayList<>(templateFileCount);
+            for (int i = 0; i < templateFileCount; i++) {
+                templateFiles.add(readFile(in));
+            }
+            int fileCount = in.readInt();
+            List<FileEntry> files = new ArrayList<>(fileCount);
+            for (int i = 0; i < fileCount; i++) {
+                FileEntry file = readFile(in);
+                int classCount = in.readInt();
+                for (int j = 0; j < classCount; j++) {
+                    String qualifiedName = IOUtil.readUTF(in);
+                    String annotation = readNullable(in);
+                    String moduleName = readNullable(in);
+                    List<String> beans = readStrings(in);
+                    List<String> dependencies = readStrings(in);
+                    file.classes.add(new StoredClass(qualifiedName, annotation, moduleName, beans, dependencies));
+                }
+                files.add(file);
+            }
+            return new Data(libraryFingerprint, annotations, packages, templates, templateFiles, files);
+        }
+
+        private static void writeStrings(DataOutput out, Collection<String> values) throws IOException {
+            out.writeInt(values.size());
+            for (String value : values) {
+                IOUtil.writeUTF(out, value);
+            }
+        }
+
+        private static List<String> readStrings(DataInput in) throws IOException {
+            int size = in.readInt();
+            List<String> values = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                values.add(IOUtil.readUTF(in));
+            }
+            return values;
+        }
+
+        private static void writeNullable(DataOutput out, @Nullable String value) throws IOException {
+            out.writeBoolean(value != null);
+            if (value != null) {
+                IOUtil.writeUTF(out, value);
+            }
+        }
+
+        private static @Nullable String readNullable(DataInput in) throws IOException {
+            return in.readBoolean() ? IOUtil.readUTF(in) : null;
+        }
+    }
+
+    private static final class FileEntry {
+
+        private final String url;
+        private final long timeStamp;
+        private final long length;
+        private final boolean registry;
+        private final List<StoredClass> classes = new ArrayList<>();
+
+        private FileEntry(VirtualFile file, boolean registry) {
+            this(file.getUrl(), file.getTimeStamp(), file.getLength(), registry);
+        }
+
+        private FileEntry(String url, long timeStamp, long length, boolean registry) {
+            this.url = url;
+            this.timeStamp = timeStamp;
+            this.length = length;
+            this.registry = registry;
+        }
+
+        private boolean matches(VirtualFile file) {
+            return file.getTimeStamp() == timeStamp && file.getLength() == length;
+        }
+    }
+
+    /**
+     * {@link ClassData} with plain names, interned into the project's {@link FqnTable} only when it is restored
+     */
+    private static final class StoredClass {
+
+        private final String qualifiedName;
+        private final @Nullable String annotation;
+        private final @Nullable String moduleName;
+        private final Collection<String> beans;
+        private final Collection<String> dependencies;
+
+        private StoredClass(ClassData classData) {
+            this(classData.getQualifiedName(), classData.getAnnotation(), classData.getModuleName(),
+                    classData.getBeans(), classData.getDependencies());
+        }
+
+        private StoredClass(String qualifiedName, @Nullable String annotation, @Nullable String moduleName,
+                            Collection<String> beans, Collection<String> dependencies) {
+            this.qualifiedName = qualifiedName;
+            this.annotation = annotation;
+            this.moduleName = moduleName;
+            this.beans = beans;
+            this.dependencies = dependencies;
+        }
+
+        private ClassData toClassData(FqnTable table) {
+            return new ClassData(table, qualifiedName, annotation, moduleName, beans, dependencies);
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package net.vortexdevelopment.plugin.vinject.diagnostics;
+
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.fileChooser.FileChooserFactory;
+import com.intellij.openapi.fileChooser.FileSaverDescriptor;
+import com.intellij.openapi.project.DumbAware;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.Messages;
+import com.intellij.openapi.vfs.VirtualFileWrapper;
+import com.intellij.openapi.wm.ToolWindow;
+import com.intellij.openapi.wm.ToolWindowFactory;
+import com.intellij.ui.components.JBScrollPane;
+import com.intellij.ui.content.Content;
+import com.intellij.ui.content.ContentFactory;
+import com.intellij.ui.table.JBTable;
+import org.jetbrains.annotations.NotNull;
+
+import javax.swing.*;
+import javax.swing.table.DefaultTableModel;
+import java.awt.*;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Map;
+
+/**
+ * VInject Diagnostics tool window, a live table of {@link VInjectMetrics} with a JSON export
+ */
+public class DiagnosticsToolWindowFactory implements ToolWindowFactory, DumbAware {
+
+    @Override
+    public void createToolWindowContent(@NotNull Project project, @NotNull ToolWindow toolWindow) {
+        DiagnosticsPanel panel = new DiagnosticsPanel(project);
+        Content content = ContentFactory.getInstance().createContent(panel, "", false);
+        content.setDisposer(panel);
+        toolWindow.getContentManager().addContent(content);
+    }
+
+    private static final class DiagnosticsPanel extends JPanel implements Disposable {
+
+        private static final int REFRESH_INTERVAL_MS = 2000;
+        private static final String[] COLUMNS = {"Metric", "Count", "Total (ms)", "Mean (µs)", "p50 (µs)", "p90 (µs)", "p99 (µs)", "Max (µs)"};
+
+        private final Project project;
+        private final DefaultTableModel model = new DefaultTableModel(COLUMNS, 0) {
+            @Override
+            public boolean isCellEditable(int row, int column) {
+                return false;
+            }
+        };
+        private final Timer refreshTimer = new Timer(REFRESH_INTERVAL_MS, e -> refresh());
+
+        private DiagnosticsPanel(Project project) {
+            super(new BorderLayout());
+            this.project = project;
+
+            JButton refreshButton = new JButton("Refresh");
+            refreshButton.addActionListener(e -> refresh());
+            JButton resetButton = new JButton("Reset");
+            resetButton.addActionListener(e -> {
+                VInjectMetrics.getInstance().reset();
+                refresh();
+            });
+            JButton exportButton = new JButton("Export JSON...");
+            exportButton.addActionListener(e -> export());
+
+            JPanel buttons = new JPanel(new FlowLayout(FlowLayout.LEFT));
+            buttons.add(refreshButton);
+            buttons.add(resetButton);
+            buttons.add(exportButton);
+
+            add(buttons, BorderLayout.NORTH);
+            add(new JBScrollPane(new JBTable(model)), BorderLayout.CENTER);
+
+            refresh();
+            refreshTimer.start();
+        }
+
+        private void refresh() {
+            VInjectMetrics metrics = VInjectMetrics.getInstance();
+            model.setRowCount(0);
+            for (Map.Entry<String, LatencyHistogram.Snapshot> entry : metrics.getHistograms().entrySet()) {
+                LatencyHistogram.Snapshot snapshot = entry.getValue();
+                model.addRow(new Object[]{
+                        entry.getKey(),
+                        snapshot.getCount(),
+                        snapshot.getTotalNanos() / 1_000_000,
+                        snapshot.getMeanNanos() / 1000,
+                        snapshot.getP50Nanos() / 1000,
+                        snapshot.getP90Nanos() / 1000,
+                        snapshot.getP99Nanos() / 1000,
+                        snapshot.getMaxNanos() / 1000
+                });
+            }
+            for (Map.Entry<String, Long> entry : metrics.getCounters().entrySet()) {
+                model.addRow(new Object[]{entry.getKey(), entry.getValue(), "", "", "", "", "", ""});
+            }
+        }
+
+        private void export() {
+            FileSaverDescriptor descriptor = new FileSaverDescriptor("Export VInject Diagnostics", "Save the current metrics as JSON", "json");
+            VirtualFileWrapper target = FileChooserFactory.getInstance()
+                    .createSaveFileDialog(descriptor, project)
+                    .save("vinject-diagnostics.json");
+            if (target == null) {
+                return;
+            }
+            try {
+                Files.writeString(target.getFile().toPath(), VInjectMetrics.getInstance().toJson(), StandardCharsets.UTF_8);
+            } catch (IOException e) {
+                Messages.showErrorDialog(project, "Failed to export diagnostics: " + e.getMessage(), "VInject Diagnostics");
+            }
+        }
+
+        @Override
+        public void dispose() {
+            refreshTimer.stop();
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package net.vortexdevelopment.plugin.vinject.diagnostics;
+
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonObject;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.components.Service;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters and latency histograms of the plugin's expensive operations, shown in the VInject Diagnostics tool window.
+ * <p>
+ * Usage on a timed path:
+ * <pre>{@code
+ * long start = System.nanoTime();
+ * try {
+ *     ...
+ * } finally {
+ *     VInjectMetrics.getInstance().record(VInjectMetrics.PROCESS_FILE_CHANGE, start);
+ * }
+ * }</pre>
+ */
+@Service(Service.Level.APP)
+public final class VInjectMetrics {
+
+    public static final String SCAN_TEMPLATES = "scan.templates";
+    public static final String SCAN_COLLECT = "scan.collect";
+    public static final String SCAN_PROCESS = "scan.process";
+    public static final String SNAPSHOT_RESTORE = "scan.snapshotRestore";
+    public static final String PROCESS_FILE_CHANGE = "classData.processFileChange";
+    public static final String IS_CLASS_PROVIDED = "classData.isClassProvided";
+    public static final String INSPECTION_CHECK_CLASS = "inspection.checkClass";
+    public static final String INSPECTION_CHECK_FIELD = "inspection.checkField";
+    public static final String INSPECTION_CHECK_METHOD = "inspection.checkMethod";
+    public static final String TEMPLATE_JAR_SCAN = "templates.jarScan";
+    public static final String TEMPLATE_JAR_CACHE_HIT = "templates.jarCacheHit";
+    public static final String BEAN_GRAPH_BUILD = "beans.graphBuild";
+
+    private final Map<String, LongAdder> counters = new ConcurrentHashMap<>();
+    private final Map<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+
+    public static VInjectMetrics getInstance() {
+        return ApplicationManager.getApplication().getService(VInjectMetrics.class);
+    }
+
+    public void increment(@NotNull String counter) {
+        counter(counter).increment();
+    }
+
+    /**
+     * @return The counter itself, for hot paths which keep it in a field instead of looking it up on every call
+     */
+    public @NotNull LongAdder counter(@NotNull String counter) {
+        return counters.computeIfAbsent(counter, k -> new LongAdder());
+    }
+
+    /**
+     * Records the time elapsed since a {@link System#nanoTime()} start value
+     */
+    public void record(@NotNull String histogram, long startNanos) {
+        recordNanos(histogram, System.nanoTime() - startNanos);
+    }
+
+    public void recordNanos(@NotNull String histogram, long nanos) {
+        histograms.computeIfAbsent(histogram, k -> new LatencyHistogram()).record(nanos);
+    }
+
+    public void reset() {
+        counters.values().forEach(LongAdder::reset);
+        histograms.values().forEach(LatencyHistogram::reset);
+    }
+
+    /**
+     * @return Current counter values sorted by name
+     */
+    public @NotNull Map<String, Long> getCounters() {
+        Map<String, Long> result = new TreeMap<>();
+        counters.forEach((name, counter) -> result.put(name, counter.sum()));
+        return result;
+    }
+
+    /**
+     * @return Snapshots of all histograms sorted by name
+     */
+    public @NotNull Map<String, LatencyHistogram.Snapshot> getHistograms() {
+        Map<String, LatencyHistogram.Snapshot> result = new TreeMap<>();
+        histograms.forEach((name, histogram) -> result.put(name, histogram.snapshot()));
+        return result;
+    }
+
+    /**
+     * @return All metrics as pretty printed JSON, durations in microseconds
+     */
+    public @NotNull String toJson() {
+        JsonObject root = new JsonObject();
+        root.addProperty("timestamp", System.currentTimeMillis());
+
+        JsonObject counterJson = new JsonObject();
+        getCounters().forEach(counterJson::addProperty);
+        root.add("counters", counterJson);
+
+        JsonObject histogramJson = new JsonObject();
+        getHistograms().forEach((name, snapshot) -> {
+            JsonObject entry = new JsonObject();
+            entry.addProperty("count", snapshot.getCount());
+            entry.addProperty("totalUs", snapshot.getTotalNanos() / 1000);
+            entry.addProperty("meanUs", snapshot.getMeanNanos() / 1000);
+            entry.addProperty("p50Us", snapshot.getP50Nanos() / 1000);
+            entry.addProperty("p90Us", snapshot.getP90Nanos() / 1000);
+            entry.addProperty("p99Us", snapshot.getP99Nanos() / 1000);
+            entry.addProperty("maxUs", snapshot.getMaxNanos() / 1000);
+            histogramJson.add(name, entry);
+        });
+        root.add("histograms", histogramJson);
+
+        return new GsonBuilder().setPrettyPrinting().create().toJson(root);
+    }
+}
@@ -10,9 +10,9 @@ import com.intellij.openapi.fileEditor.FileEditorManagerEvent;
 import com.intellij.openapi.fileEditor.FileEditorManagerListener;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.vfs.VirtualFile;
-import com.intellij.openapi.diagnostic.Logger;
 import com.intellij.util.messages.MessageBusConnection;
 import net.vortexdevelopment.plugin.vinject.discord.DiscordSettings;
+import net.vortexdevelopment.plugin.vinject.utils.VInjectLogger;
 
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
@@ -20,7 +20,7 @@ import java.util.concurrent.TimeUnit;
 
 public class DiscordActivityManager implements FileEditorManagerListener, EditorFactoryListener {
     
-    private static final Logger LOG = Logger.getInstance(DiscordActivityManager.class);
+    private static final VInjectLogger LOG = VInjectLogger.getInstance(DiscordActivityManager.class);
     private Project currentProject;
     private DiscordSettings settings;
     private final ScheduledExecutorService scheduler;
@@ -44,7 +44,7 @@ public class DiscordActivityManager implements FileEditorManagerListener, Editor
     // Method to switch to a different project
     public void switchToProject(Project newProject) {
         if (this.currentProject != newProject) {
-            System.out.println("🔄 Switching Discord RPC to project: " + newProject.getName());
+            LOG.debug(() -> "Switching Discord RPC to project: " + newProject.getName());
             
             // Disconnect from old project
             if (messageBusConnection != null) {
@@ -76,7 +76,7 @@ public class DiscordActivityManager implements FileEditorManagerListener, Editor
         // Schedule periodic presence updates
         scheduler.scheduleAtFixedRate(this::updatePresence, 0, 15, TimeUnit.SECONDS);
         
-        LOG.info("Discord activity monitoring started for project: " + currentProject.getName());
+        LOG.info(() -> "Discord activity monitoring started for project: " + currentProject.getName());
     }
     
     private void setupProjectListeners() {
@@ -99,15 +99,15 @@ public class DiscordActivityManager implements FileEditorManagerListener, Editor
                     ? editorManager.getSelectedFiles()[0] 
                     : openFiles[0]; // Fallback to first open file
                 
-                LOG.info("Found currently open file: " + selectedFile.getName());
+                LOG.debug(() -> "Found currently open file: " + selectedFile.getName());
                 updateCurrentFile(selectedFile);
             } else {
-                LOG.info("No files currently open in project: " + currentProject.getName());
+                LOG.debug(() -> "No files currently open in project: " + currentProject.getName());
                 // Update presence with no file info
                 updatePresence();
             }
         } catch (Exception e) {
-            LOG.warn("Failed to check currently open files", e);
+            LOG.warn(() -> "Failed to check currently open files", e);
             // Update presence anyway to show project info
             updatePresence();
         }
@@ -169,7 +169,7 @@ public class DiscordActivityManager implements FileEditorManagerListener, Editor
             DiscordPresenceBuilder presence = buildPresence();
             DiscordHook.updatePresence(presence);
         } catch (Exception e) {
-            LOG.warn("Failed to update Discord presence", e);
+            LOG.warn(() -> "Failed to update Discord presence", e);
         }
     }
 
@@ -2,13 +2,13 @@ package net.vortexdevelopment.plugin.vinject.discord;
 
 import ai.grazie.utils.json.JSONObject;
 import com.google.gson.JsonObject;
-import com.intellij.openapi.diagnostic.Logger;
 import com.jagrosh.discordipc.IPCClient;
 import com.jagrosh.discordipc.IPCListener;
 import com.jagrosh.discordipc.entities.ActivityType;
 import com.jagrosh.discordipc.entities.Packet;
 import com.jagrosh.discordipc.entities.RichPresence;
 import com.jagrosh.discordipc.entities.User;
+import net.vortexdevelopment.plugin.vinject.utils.VInjectLogger;
 
 import java.time.OffsetDateTime;
 import java.util.concurrent.CompletableFuture;
@@ -17,7 +17,7 @@ import java.util.concurrent.ExecutorService;
 
 public class DiscordBridge {
 
-    private static final Logger LOG = Logger.getInstance(DiscordBridge.class);
+    private static final VInjectLogger LOG = VInjectLogger.getInstance(DiscordBridge.class);
     private static final ExecutorService executor = Executors.newCachedThreadPool(r -> {
         Thread thread = new Thread(r, "Discord-IPC-Worker");
         thread.setDaemon(true);
@@ -31,21 +31,19 @@ public class DiscordBridge {
     public DiscordBridge(String clientId) {
         this.clientId = Long.parseLong(clientId);
         this.client = new IPCClient(this.clientId);
-        LOG.info("DiscordBridge initialized with client ID: " + clientId);
+        LOG.debug(() -> "DiscordBridge initialized with client ID: " + clientId);
     }
 
     public boolean isConnected() {
-        LOG.info("Discord connection status: " + connected);
         return connected;
     }
 
     public CompletableFuture<Void> connect() {
-        System.out.println("Connecting to Discord with client ID: " + clientId);
+        LOG.debug(() -> "Connecting to Discord with client ID: " + clientId);
 
         return CompletableFuture.runAsync(() -> {
             try {
-                System.out.println("Starting Discord connection in background thread...");
-                System.out.println("Thread: " + Thread.currentThread().getName());
+                LOG.debug(() -> "Starting Discord connection in thread " + Thread.currentThread().getName());
 
                 client.setListener(new IPCListener() {
                     @Override
@@ -75,27 +73,23 @@ public class DiscordBridge {
 
                     @Override
                     public void onReady(IPCClient client) {
-                        System.out.println("✅ Discord RPC Ready!");
+                        LOG.debug(() -> "Discord RPC ready");
                         connected = true;
                     }
 
                     @Override
                     public void onClose(IPCClient client, JsonObject json) {
-                        System.out.println("ℹ️ Discord RPC connection closed: " + json);
+                        LOG.info(() -> "Discord RPC connection closed: " + json);
                         connected = false;
                     }
 
                     @Override
                     public void onDisconnect(IPCClient client, Throwable t) {
-                        System.out.println("⚠️ Discord RPC disconnected");
-                        if (t != null) {
-                            System.err.println("Disconnect reason: " + t.getMessage());
-                        }
+                        LOG.info(() -> "Discord RPC disconnected" + (t != null ? ": " + t.getMessage() : ""));
                         connected = false;
                     }
                 });
 
-                System.out.println("About to call client.connect()...");
                 client.connect();
 
                 // Wait for connection to be established
@@ -109,20 +103,16 @@ public class DiscordBridge {
                     throw new RuntimeException("Discord connection timeout - Discord not running or RPC disabled");
                 }
 
-                System.out.println("✅ Discord connected successfully!");
-                System.out.println("Connection status: " + connected);
+                LOG.debug(() -> "Discord connected");
             } catch (Exception e) {
-                System.err.println(
-                        "❌ Failed to connect to Discord: " + e.getClass().getSimpleName() + ": " + e.getMessage());
-                e.printStackTrace();
+                LOG.debug(() -> "Failed to connect to Discord: " + e.getClass().getSimpleName() + ": " + e.getMessage());
                 throw new RuntimeException("Discord connection failed", e);
             }
         }, executor);
     }
 
     public CompletableFuture<Void> setPresence(DiscordPresenceBuilder presence) {
-        System.out.println(
-                "Setting Discord presence: line1='" + presence.getLine1() + "', line2='" + presence.getLine2() + "'");
+        LOG.debug(() -> "Setting Discord presence: line1='" + presence.getLine1() + "', line2='" + presence.getLine2() + "'");
 
         return CompletableFuture.runAsync(() -> {
             try {
@@ -148,31 +138,32 @@ public class DiscordBridge {
 
                 // Set large image
                 if (presence.getBigImage() != null) {
-                    LOG.info("Setting large image: " + presence.getBigImage() + " with text: "
+                    LOG.debug(() -> "Setting large image: " + presence.getBigImage() + " with text: "
                             + presence.getBigImageText());
                     builder.setLargeImage(presence.getBigImage(), presence.getBigImageText());
                 }
 
                 // Set small image
                 if (presence.getSmallImage() != null) {
-                    LOG.info("Setting small image: " + presence.getSmallImage() + " with text: "
+                    LOG.debug(() -> "Setting small image: " + presence.getSmallImage() + " with text: "
                             + presence.getSmallImageText());
                     builder.setSmallImage(presence.getSmallImage(), presence.getSmallImageText());
                 }
 
                 // Note about buttons
                 if (!presence.getButtons().isEmpty()) {
-                    LOG.info("Note: Buttons are not directly supported in jagrosh/DiscordIPC library");
+                    LOG.debug(() -> "Note: Buttons are not directly supported in jagrosh/DiscordIPC library");
                     // The jagrosh library doesn't support buttons in the same way
                     // Would need to implement via join/spectate secrets if needed
                 }
 
                 RichPresence richPresence = builder.build();
                 client.sendRichPresence(richPresence);
-                LOG.info("Discord presence set successfully!");
+                LOG.debug(() -> "Discord presence set");
 
             } catch (Exception e) {
-                LOG.error("Failed to set Discord presence", e);
+                // Reported once by DiscordHook.updatePresence
+                LOG.debug(() -> "Failed to set Discord presence: " + e.getMessage());
                 throw new RuntimeException("Set presence failed", e);
             }
         }, executor);
@@ -180,14 +171,14 @@ public class DiscordBridge {
 
     public void close() {
         try {
-            LOG.info("Disconnecting from Discord...");
+            LOG.debug(() -> "Disconnecting from Discord...");
             if (client != null) {
                 client.close();
             }
             connected = false;
-            LOG.info("Discord disconnected successfully");
+            LOG.debug(() -> "Discord disconnected");
         } catch (Exception e) {
-            LOG.error("Error disconnecting from Discord", e);
+            LOG.warn(() -> "Error disconnecting from Discord", e);
         }
     }
 }
\ No newline at end of file
@@ -1,9 +1,10 @@
 package net.vortexdevelopment.plugin.vinject.discord;
 
-import com.intellij.openapi.project.Project;
 import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.project.Project;
 import net.vortexdevelopment.plugin.vinject.Plugin;
 import net.vortexdevelopment.plugin.vinject.project.ProjectSettings;
+import net.vortexdevelopment.plugin.vinject.utils.VInjectLogger;
 
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
@@ -11,7 +12,8 @@ import java.util.concurrent.Executors;
 
 public class DiscordHook {
 
-    private static final Logger LOG = Logger.getInstance(DiscordHook.class);
+    private static final VInjectLogger LOG = VInjectLogger.getInstance(DiscordHook.class);
+    private static final Logger TEST_LOG = Logger.getInstance(DiscordHook.class);
     private static DiscordBridge bridge;
     private static ExecutorService executorService;
     private static boolean initialized = false;
@@ -19,10 +21,10 @@ public class DiscordHook {
     private static String currentClientId;
 
     public static void init(Project project) {
-        LOG.info("DiscordHook.init() called for project: " + project.getName());
+        LOG.debug(() -> "DiscordHook.init() called for project: " + project.getName());
 
         if (initialized) {
-            LOG.warn("Discord RPC already initialized, skipping...");
+            LOG.debug(() -> "Discord RPC already initialized, skipping...");
             return; // Already initialized
         }
 
@@ -33,78 +35,67 @@ public class DiscordHook {
             if (clientId == null || clientId.trim().isEmpty()) {
                 clientId = "1387043651288432781"; // Default fallback
             }
-            LOG.info("Initializing Discord RPC with client ID: " + clientId);
+            String finalClientId = clientId;
+            LOG.debug(() -> "Initializing Discord RPC with client ID: " + finalClientId);
 
             executorService = Executors.newSingleThreadExecutor(r -> {
                 Thread thread = new Thread(r, "Discord-RPC-Thread");
                 thread.setDaemon(true);
-                LOG.info("Created Discord RPC thread: " + thread.getName());
+                LOG.debug(() -> "Created Discord RPC thread: " + thread.getName());
                 return thread;
             });
 
-            LOG.info("Creating DiscordBridge instance...");
+            LOG.debug(() -> "Creating DiscordBridge instance...");
             bridge = new DiscordBridge(clientId);
             currentClientId = clientId;
             initialized = true;
 
-            LOG.info("Discord RPC initialized successfully with client ID: " + clientId);
+            LOG.info(() -> "Discord RPC initialized with client ID: " + finalClientId);
         } catch (Exception e) {
-            LOG.error("Failed to initialize Discord RPC", e);
-            // Print stack trace to console for immediate visibility
-            e.printStackTrace();
+            LOG.warn(() -> "Failed to initialize Discord RPC", e);
         }
     }
 
     public static CompletableFuture<Void> connect() {
-        System.out.println("🔗 Attempting to connect to Discord RPC...");
-        System.out.println("State - Initialized: " + initialized + ", Connected: " + connected + ", Bridge: "
-                + (bridge != null ? "present" : "null"));
+        LOG.debug(() -> "Attempting to connect to Discord RPC, state - Initialized: " + initialized + ", Connected: "
+                + connected + ", Bridge: " + (bridge != null ? "present" : "null"));
 
         if (!initialized || bridge == null) {
             String error = "Discord RPC not initialized (initialized=" + initialized + ", bridge="
                     + (bridge != null ? "present" : "null") + ")";
-            System.out.println("❌ " + error);
+            LOG.warn(() -> error);
             return CompletableFuture.failedFuture(new IllegalStateException(error));
         }
 
         if (connected) {
-            System.out.println("✅ Discord RPC already connected, skipping connection attempt.");
+            LOG.debug(() -> "Discord RPC already connected, skipping connection attempt.");
             return CompletableFuture.completedFuture(null);
         }
 
-        System.out.println("🔗 Connecting to Discord RPC with client ID: " + currentClientId);
+        LOG.debug(() -> "Connecting to Discord RPC with client ID: " + currentClientId);
         return bridge.connect()
                 .thenRun(() -> {
                     connected = true;
-                    System.out.println("✅ Discord RPC connected successfully!");
+                    LOG.info(() -> "Discord RPC connected");
                 })
                 .exceptionally(throwable -> {
-                    System.err.println("❌ Failed to connect to Discord RPC: " + throwable.getMessage());
-                    throwable.printStackTrace();
+                    LOG.warn(() -> "Failed to connect to Discord RPC: " + throwable.getMessage());
                     return null;
                 });
     }
 
     public static CompletableFuture<Void> updatePresence(DiscordPresenceBuilder presence) {
-        LOG.info("DiscordHook.updatePresence() called");
-        LOG.info("State - Initialized: " + initialized + ", Connected: " + connected + ", Bridge: "
-                + (bridge != null ? "present" : "null"));
-
         if (!initialized || !connected || bridge == null) {
-            LOG.warn("Cannot update presence - Discord not ready (initialized=" + initialized + ", connected="
+            LOG.debug(() -> "Cannot update presence - Discord not ready (initialized=" + initialized + ", connected="
                     + connected + ", bridge=" + (bridge != null ? "present" : "null") + ")");
             return CompletableFuture.completedFuture(null); // Silently ignore if not connected
         }
 
-        LOG.info("Updating Discord presence...");
+        LOG.debug(() -> "Updating Discord presence...");
         return bridge.setPresence(presence)
-                .thenRun(() -> {
-                    LOG.info("Discord presence updated successfully!");
-                    System.out.println("✅ Discord presence updated: " + presence.getLine1());
-                })
+                .thenRun(() -> LOG.debug(() -> "Discord presence updated: " + presence.getLine1()))
                 .exceptionally(throwable -> {
-                    LOG.error("Failed to update Discord presence", throwable);
-                    System.err.println("❌ Failed to update Discord presence: " + throwable.getMessage());
+                    LOG.warn(() -> "Failed to update Discord presence", throwable);
                     return null;
                 });
     }
@@ -114,9 +105,9 @@ public class DiscordHook {
             try {
                 bridge.close();
                 connected = false;
-                LOG.info("Discord RPC disconnected");
+                LOG.info(() -> "Discord RPC disconnected");
             } catch (Exception e) {
-                LOG.warn("Error disconnecting from Discord RPC", e);
+                LOG.warn(() -> "Error disconnecting from Discord RPC", e);
             }
         }
     }
@@ -132,11 +123,10 @@ public class DiscordHook {
     }
 
     public static boolean isConnected() {
+        // Called on every file switch and presence refresh, only traced at debug level
         boolean result = initialized && connected && bridge != null && bridge.isConnected();
-        LOG.info("isConnected() check - initialized=" + initialized + ", connected=" + connected +
-                ", bridge=" + (bridge != null ? "present" : "null") +
-                ", bridgeConnected=" + (bridge != null ? bridge.isConnected() : "N/A") +
-                ", result=" + result);
+        LOG.debug(() -> "isConnected() check - initialized=" + initialized + ", connected=" + connected +
+                ", bridge=" + (bridge != null ? "present" : "null") + ", result=" + result);
         return result;
     }
 
@@ -144,77 +134,77 @@ public class DiscordHook {
         try {
             DiscordSettings settings = DiscordSettings.getInstance(project);
             boolean enabled = settings.isDiscordRpcEnabled();
-            LOG.info("Discord RPC enabled for project " + project.getName() + ": " + enabled);
+            LOG.debug(() -> "Discord RPC enabled for project " + project.getName() + ": " + enabled);
             return enabled;
         } catch (Exception e) {
-            LOG.error("Error checking if Discord RPC is enabled", e);
+            LOG.warn(() -> "Error checking if Discord RPC is enabled", e);
             return false;
         }
     }
 
     /**
      * Test Discord connection with detailed debugging output
-     * Call this method to manually test the Discord integration
+     * Call this method to manually test the Discord integration.
+     * Every step is logged through the plain IDE logger, the rate limit would drop most of the report.
      */
     public static void testConnection(Project project) {
-        System.out.println("🧪 === DISCORD CONNECTION TEST START ===");
+        TEST_LOG.info("=== DISCORD CONNECTION TEST START ===");
 
         try {
             // Step 1: Check if enabled
-            System.out.println("Step 1: Checking if Discord RPC is enabled...");
+            TEST_LOG.info("Step 1: Checking if Discord RPC is enabled...");
             boolean enabled = isEnabled(project);
-            System.out.println("   Result: " + (enabled ? "✅ ENABLED" : "❌ DISABLED"));
+            TEST_LOG.info("   Result: " + (enabled ? "ENABLED" : "DISABLED"));
 
             if (!enabled) {
-                System.out.println("❌ Test failed: Discord RPC is disabled in settings");
+                TEST_LOG.info("Test failed: Discord RPC is disabled in settings");
                 return;
             }
 
             // Step 2: Initialize
-            System.out.println("Step 2: Initializing Discord RPC...");
+            TEST_LOG.info("Step 2: Initializing Discord RPC...");
             init(project);
-            System.out.println("   Result: " + (initialized ? "✅ INITIALIZED" : "❌ FAILED"));
+            TEST_LOG.info("   Result: " + (initialized ? "INITIALIZED" : "FAILED"));
 
             // Step 3: Check bridge
-            System.out.println("Step 3: Checking bridge instance...");
-            System.out.println("   Bridge: " + (bridge != null ? "✅ CREATED" : "❌ NULL"));
-            System.out.println("   Client ID: " + currentClientId);
+            TEST_LOG.info("Step 3: Checking bridge instance...");
+            TEST_LOG.info("   Bridge: " + (bridge != null ? "CREATED" : "NULL"));
+            TEST_LOG.info("   Client ID: " + currentClientId);
 
             // Step 4: Test connection
-            System.out.println("Step 4: Testing Discord connection...");
+            TEST_LOG.info("Step 4: Testing Discord connection...");
             connect().thenRun(() -> {
-                System.out.println("   Result: ✅ CONNECTION SUCCESSFUL!");
+                TEST_LOG.info("   Result: CONNECTION SUCCESSFUL");
 
                 // Step 5: Test presence
-                System.out.println("Step 5: Testing presence update...");
+                TEST_LOG.info("Step 5: Testing presence update...");
                 DiscordPresenceBuilder testPresence = new DiscordPresenceBuilder()
                         .setLine1("Testing VInject Plugin")
                         .setLine2("Connection test successful!");
 
                 updatePresence(testPresence).thenRun(() -> {
-                    System.out.println("   Result: ✅ PRESENCE UPDATE SUCCESSFUL!");
-                    System.out.println("🎉 === DISCORD CONNECTION TEST COMPLETED SUCCESSFULLY ===");
+                    TEST_LOG.info("   Result: PRESENCE UPDATE SUCCESSFUL");
+                    TEST_LOG.info("=== DISCORD CONNECTION TEST COMPLETED SUCCESSFULLY ===");
                 }).exceptionally(presenceError -> {
-                    System.err.println("   Result: ❌ PRESENCE UPDATE FAILED: " + presenceError.getMessage());
-                    System.err.println("🧪 === DISCORD CONNECTION TEST COMPLETED WITH ERRORS ===");
+                    TEST_LOG.warn("   Result: PRESENCE UPDATE FAILED: " + presenceError.getMessage());
+                    TEST_LOG.warn("=== DISCORD CONNECTION TEST COMPLETED WITH ERRORS ===");
                     return null;
                 });
 
             }).exceptionally(connectionError -> {
-                System.err.println("   Result: ❌ CONNECTION FAILED: " + connectionError.getMessage());
-                System.err.println("💡 Possible issues:");
-                System.err.println("   - Discord is not running");
-                System.err.println("   - Discord RPC is disabled in Discord settings");
-                System.err.println("   - Firewall blocking connection");
-                System.err.println("   - Invalid client ID: " + currentClientId);
-                System.err.println("🧪 === DISCORD CONNECTION TEST FAILED ===");
+                TEST_LOG.warn("   Result: CONNECTION FAILED: " + connectionError.getMessage());
+                TEST_LOG.warn("Possible issues:");
+                TEST_LOG.warn("   - Discord is not running");
+                TEST_LOG.warn("   - Discord RPC is disabled in Discord settings");
+                TEST_LOG.warn("   - Firewall blocking connection");
+                TEST_LOG.warn("   - Invalid client ID: " + currentClientId);
+                TEST_LOG.warn("=== DISCORD CONNECTION TEST FAILED ===");
                 return null;
             });
 
         } catch (Exception e) {
-            System.err.println("❌ Test failed with exception: " + e.getMessage());
-            e.printStackTrace();
-            System.err.println("🧪 === DISCORD CONNECTION TEST FAILED ===");
+            TEST_LOG.warn("Test failed with exception: " + e.getMessage(), e);
+            TEST_LOG.warn("=== DISCORD CONNECTION TEST FAILED ===");
         }
     }
 
@@ -430,7 +430,6 @@ public class ProjectWizardStep implements NewProjectWizardStep {
             Files.write(gitignoreFile.toPath(), gitignore.getBytes(StandardCharsets.UTF_8));
         } catch (Exception e) {
             logger.error("Error creating project", e);
-            e.printStackTrace();
         }
     }
 
@@ -10,10 +10,13 @@ import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiField;
 import com.intellij.psi.codeStyle.JavaCodeStyleManager;
 import net.vortexdevelopment.plugin.vinject.Plugin;
+import net.vortexdevelopment.plugin.vinject.utils.VInjectLogger;
 import org.jetbrains.annotations.NotNull;
 
 public class RemoveInjectNonComponentClass implements LocalQuickFix {
 
+    private static final VInjectLogger LOG = VInjectLogger.getInstance(RemoveInjectNonComponentClass.class);
+
     @Override
     public @IntentionFamilyName @NotNull String getFamilyName() {
         return "Remove @Inject annotation from field";
@@ -44,7 +47,7 @@ public class RemoveInjectNonComponentClass implements LocalQuickFix {
             if (psiClass != null) {
                 JavaCodeStyleManager.getInstance(project).shortenClassReferences(psiClass);
             } else {
-                System.out.println("Class is null");
+                LOG.debug(() -> "Class is null");
             }
         });
     }
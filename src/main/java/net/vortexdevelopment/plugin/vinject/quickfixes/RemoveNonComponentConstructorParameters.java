@@ -32,10 +32,11 @@ public class RemoveNonComponentConstructorParameters implements LocalQuickFix {
         Plugin.runWriteAction(() -> {
             List<PsiParameter> remove = new ArrayList<>();
             PsiMethod psiConstructor = (PsiMethod) psiParameter.getParent().getParent();
+            ClassDataManager classDataManager = ClassDataManager.getInstance(project);
 
             for (PsiParameter parameter : psiConstructor.getParameterList().getParameters()) {
                 if (parameter.getType() instanceof PsiClassType psiClassType) {
-                    if (!ClassDataManager.isClassProvided(psiClassType.resolve())) {
+                    if (!classDataManager.isClassProvided(psiClassType.resolve())) {
                         remove.add(parameter);
                     }
                 }
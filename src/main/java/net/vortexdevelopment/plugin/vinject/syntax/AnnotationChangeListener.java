@@ -1,15 +1,34 @@
 package net.vortexdevelopment.plugin.vinject.syntax;
 
-import com.intellij.openapi.project.DumbService;
+import com.intellij.codeInsight.daemon.DaemonCodeAnalyzer;
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.application.ReadAction;
 import com.intellij.openapi.project.Project;
 import com.intellij.psi.PsiAnnotation;
 import com.intellij.psi.PsiClass;
-import com.intellij.psi.PsiDocumentManager;
+import com.intellij.psi.PsiCodeBlock;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiExpression;
+import com.intellij.psi.PsiField;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiImportList;
+import com.intellij.psi.PsiJavaFile;
+import com.intellij.psi.PsiMethod;
+import com.intellij.psi.PsiModifierList;
+import com.intellij.psi.PsiPackageStatement;
+import com.intellij.psi.PsiParameterList;
 import com.intellij.psi.PsiTreeChangeEvent;
 import com.intellij.psi.PsiTreeChangeListener;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.util.Alarm;
+import com.intellij.util.concurrency.AppExecutorUtil;
+import com.intellij.util.ui.update.MergingUpdateQueue;
+import com.intellij.util.ui.update.Update;
 import net.vortexdevelopment.plugin.vinject.Plugin;
 import net.vortexdevelopment.plugin.vinject.container.ClassDataManager;
+import net.vortexdevelopment.plugin.vinject.container.DependencyGraph;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.HashSet;
 import java.util.List;
@@ -17,11 +36,26 @@ import java.util.Set;
 
 public class AnnotationChangeListener implements PsiTreeChangeListener {
 
+    private static final String BEAN_ANNOTATION = "net.vortexdevelopment.vinject.annotation.Bean";
+    private static final String INJECT_ANNOTATION = "net.vortexdevelopment.vinject.annotation.Inject";
+    private static final int MERGE_DELAY_MS = 300;
+
+    private final Project project;
+    private final Disposable parentDisposable;
+    private final MergingUpdateQueue updateQueue;
+
+    public AnnotationChangeListener(@NotNull Project project, @NotNull Disposable parentDisposable) {
+        this.project = project;
+        this.parentDisposable = parentDisposable;
+        this.updateQueue = new MergingUpdateQueue("VInject annotation changes", MERGE_DELAY_MS, true,
+                MergingUpdateQueue.ANY_COMPONENT, parentDisposable, null, Alarm.ThreadToUse.POOLED_THREAD);
+    }
 
     private void checkForAnnotationChange(PsiClass oldClass, PsiClass newClass) {
 
-        boolean isOldClassComponent = ClassDataManager.isComponentClass(oldClass);
-        boolean isNewClassComponent = ClassDataManager.isComponentClass(newClass);
+        ClassDataManager classDataManager = ClassDataManager.getInstance(newClass.getProject());
+        boolean isOldClassComponent = classDataManager.isComponentClass(oldClass);
+        boolean isNewClassComponent = classDataManager.isComponentClass(newClass);
 
         if (isOldClassComponent && !isNewClassComponent) {
             //Remove class from the beans
@@ -37,11 +71,12 @@ public class AnnotationChangeListener implements PsiTreeChangeListener {
     private void checkForAnnotationChange(PsiAnnotation oldAnnotation, PsiAnnotation newAnnotation) {
         String oldAnnotationName = oldAnnotation.getQualifiedName();
         String newAnnotationName = newAnnotation.getQualifiedName();
-        
+        Set<String> componentAnnotations = ClassDataManager.getInstance(newAnnotation.getProject()).getComponentAnnotations();
+
         // Check if both annotations are component annotations
         if (oldAnnotationName != null && newAnnotationName != null &&
-            ClassDataManager.COMPONENT_ANNOTATIONS.contains(oldAnnotationName) &&
-            ClassDataManager.COMPONENT_ANNOTATIONS.contains(newAnnotationName) &&
+            componentAnnotations.contains(oldAnnotationName) &&
+            componentAnnotations.contains(newAnnotationName) &&
             oldAnnotationName.equals(newAnnotationName)) {
 
             List<String> oldRegisterSubclasses = ClassDataManager.getClassArray(oldAnnotation, "registerSubclasses");
@@ -104,31 +139,86 @@ public class AnnotationChangeListener implements PsiTreeChangeListener {
     @Override
     public void childrenChanged(@NotNull PsiTreeChangeEvent event) {
         //Get project from the event's file
-        if (event.getFile() == null) {
+        PsiFile file = event.getFile();
+        if (!(file instanceof PsiJavaFile)) {
             return;
         }
-        Project project = event.getFile().getProject();
-        
+
         //Check if container is already disposed
         if (project.isDisposed()) {
             return;
         }
 
-        PsiDocumentManager.getInstance(project).performLaterWhenAllCommitted(() -> {
-            if (project.isDisposed() || !event.getFile().isValid()) {
-                return;
-            }
+        //Edits inside method bodies or field initializers cannot change the component data of the file
+        if (!affectsComponentData(event.getParent())) {
+            return;
+        }
 
-            if (DumbService.isDumb(project)) {
-                DumbService.getInstance(project).runWhenSmart(() -> {
-                    ClassDataManager.processFileChange(event.getFile());
-                });
-            } else {
-                ClassDataManager.processFileChange(event.getFile());
+        //Pending updates of the same file are merged, so a burst of keystrokes reprocesses the file only once
+        updateQueue.queue(new Update(file) {
+            @Override
+            public void run() {
+                ReadAction.nonBlocking(() -> {
+                            if (!file.isValid()) {
+                                return;
+                            }
+                            ClassDataManager classDataManager = ClassDataManager.getInstance(project);
+                            DependencyGraph graph = classDataManager.getDependencyGraph();
+                            long cycles = graph.getCycleModificationCount();
+                            classDataManager.processFileChange(file);
+                            //Cycles are reported on other files too, which are not reanalyzed by the edit itself
+                            if (graph.getCycleModificationCount() != cycles) {
+                                DaemonCodeAnalyzer.getInstance(project).restart();
+                            }
+                        })
+                        .inSmartMode(project)
+                        .withDocumentsCommitted(project)
+                        .expireWith(parentDisposable)
+                        .submit(AppExecutorUtil.getAppExecutorService());
             }
         });
     }
 
+    /**
+     * Checks whether a changed element can contribute to the component data of a class.
+     * Annotations, modifier lists, imports, class structure, @Bean method signatures, @Inject field types
+     * and constructor parameters do.
+     * @param element Parent element of the change
+     * @return true if the file has to be reprocessed
+     */
+    private static boolean affectsComponentData(@Nullable PsiElement element) {
+        if (element == null || element instanceof PsiFile) {
+            //Whole file changes (reparse, paste) cannot be narrowed down
+            return true;
+        }
+        if (element instanceof PsiClass || element instanceof PsiPackageStatement) {
+            return true;
+        }
+        if (PsiTreeUtil.getNonStrictParentOfType(element, PsiModifierList.class, PsiImportList.class) != null) {
+            return true;
+        }
+        PsiField field = PsiTreeUtil.getNonStrictParentOfType(element, PsiField.class);
+        if (field != null) {
+            //The type of an @Inject field is a dependency, its initializer is not
+            if (!field.hasAnnotation(INJECT_ANNOTATION)) {
+                return false;
+            }
+            PsiExpression initializer = field.getInitializer();
+            return initializer == null || !PsiTreeUtil.isAncestor(initializer, element, false);
+        }
+        PsiMethod method = PsiTreeUtil.getNonStrictParentOfType(element, PsiMethod.class);
+        if (method != null && method.isConstructor()
+                && PsiTreeUtil.getNonStrictParentOfType(element, PsiParameterList.class) != null) {
+            return true;
+        }
+        if (method != null && method.hasAnnotation(BEAN_ANNOTATION)) {
+            //The return type of a @Bean method is a provided bean, its body is not
+            PsiCodeBlock body = method.getBody();
+            return body == null || !PsiTreeUtil.isAncestor(body, element, false);
+        }
+        return false;
+    }
+
     @Override
     public void childMoved(@NotNull PsiTreeChangeEvent event) {
     }
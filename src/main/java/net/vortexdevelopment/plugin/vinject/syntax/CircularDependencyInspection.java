@@ -0,0 +1,56 @@
+package net.vortexdevelopment.plugin.vinject.syntax;
+
+import com.intellij.codeInspection.AbstractBaseJavaLocalInspectionTool;
+import com.intellij.codeInspection.InspectionManager;
+import com.intellij.codeInspection.ProblemDescriptor;
+import com.intellij.codeInspection.ProblemHighlightType;
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiElement;
+import net.vortexdevelopment.plugin.vinject.container.ClassDataManager;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Reports components taking part in a circular dependency.
+ * The cycles are maintained incrementally by the {@link net.vortexdevelopment.plugin.vinject.container.DependencyGraph},
+ * checking a class only looks up its strongly connected component.
+ */
+public class CircularDependencyInspection extends AbstractBaseJavaLocalInspectionTool {
+
+    @Override
+    public boolean isEnabledByDefault() {
+        return true;
+    }
+
+    @Override
+    public @NotNull String getDisplayName() {
+        return "Circular dependency between components";
+    }
+
+    @Override
+    public ProblemDescriptor @Nullable [] checkClass(@NotNull PsiClass aClass, @NotNull InspectionManager manager, boolean isOnTheFly) {
+        String qualifiedName = aClass.getQualifiedName();
+        if (qualifiedName == null) {
+            return null;
+        }
+        List<String> cycle = ClassDataManager.getInstance(aClass.getProject()).getDependencyGraph().findCycle(qualifiedName);
+        if (cycle.isEmpty()) {
+            return null;
+        }
+        String path = cycle.stream().map(StringUtil::getShortName).collect(Collectors.joining(" -> "));
+        PsiElement target = aClass.getNameIdentifier() != null ? aClass.getNameIdentifier() : aClass;
+        return new ProblemDescriptor[]{
+                manager.createProblemDescriptor(
+                        target,
+                        "Circular dependency: " + path,
+                        isOnTheFly,
+                        null,
+                        ProblemHighlightType.GENERIC_ERROR_OR_WARNING
+                )
+        };
+    }
+}
@@ -13,11 +13,15 @@ import com.intellij.psi.PsiMethod;
 import com.intellij.psi.PsiParameter;
 import com.intellij.psi.PsiPrimitiveType;
 import com.intellij.psi.PsiReference;
+import com.intellij.psi.javadoc.PsiDocMethodOrFieldRef;
+import com.intellij.psi.javadoc.PsiDocTagValue;
 import com.intellij.psi.search.GlobalSearchScope;
 import com.intellij.psi.search.searches.ReferencesSearch;
 import com.intellij.util.Query;
 import net.vortexdevelopment.plugin.vinject.Plugin;
 import net.vortexdevelopment.plugin.vinject.container.ClassDataManager;
+import net.vortexdevelopment.plugin.vinject.container.InjectionPoints;
+import net.vortexdevelopment.plugin.vinject.diagnostics.VInjectMetrics;
 import net.vortexdevelopment.plugin.vinject.quickfixes.BeanNonAnnotatedQuickFix;
 import net.vortexdevelopment.plugin.vinject.quickfixes.BeanUsedInNonServiceClass;
 import net.vortexdevelopment.plugin.vinject.quickfixes.EntityPrimitiveTypeFix;
@@ -27,13 +31,18 @@ import net.vortexdevelopment.plugin.vinject.quickfixes.RemoveInjectNonComponentC
 import net.vortexdevelopment.plugin.vinject.quickfixes.RemoveNonComponentConstructorParameters;
 import net.vortexdevelopment.plugin.vinject.quickfixes.RemoveUnusedInjectField;
 import com.intellij.psi.*;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
 import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.psi.util.PsiUtil;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 public class ComponentHighlighter extends AbstractBaseJavaLocalInspectionTool {
 
@@ -49,6 +58,15 @@ public class ComponentHighlighter extends AbstractBaseJavaLocalInspectionTool {
 
     @Override
     public ProblemDescriptor @Nullable [] checkMethod(@NotNull PsiMethod method, @NotNull InspectionManager manager, boolean isOnTheFly) {
+        long start = System.nanoTime();
+        try {
+            return doCheckMethod(method, manager, isOnTheFly);
+        } finally {
+            VInjectMetrics.getInstance().record(VInjectMetrics.INSPECTION_CHECK_METHOD, start);
+        }
+    }
+
+    private ProblemDescriptor @Nullable [] doCheckMethod(@NotNull PsiMethod method, @NotNull InspectionManager manager, boolean isOnTheFly) {
         List<ProblemDescriptor> descriptors = new ArrayList<>();
 
         //Check if the method is in a Service class
@@ -79,6 +97,15 @@ public class ComponentHighlighter extends AbstractBaseJavaLocalInspectionTool {
 
     @Override
     public ProblemDescriptor @Nullable [] checkClass(@NotNull PsiClass psiClass, @NotNull InspectionManager manager, boolean isOnTheFly) {
+        long start = System.nanoTime();
+        try {
+            return doCheckClass(psiClass, manager, isOnTheFly);
+        } finally {
+            VInjectMetrics.getInstance().record(VInjectMetrics.INSPECTION_CHECK_CLASS, start);
+        }
+    }
+
+    private ProblemDescriptor @Nullable [] doCheckClass(@NotNull PsiClass psiClass, @NotNull InspectionManager manager, boolean isOnTheFly) {
         //check classes for missing @Service annotations (Beans used in non-service classes)
         List<ProblemDescriptor> descriptors = new ArrayList<>();
         if (psiClass.getAnnotation("net.vortexdevelopment.vinject.annotation.Service") == null) {
@@ -106,17 +133,21 @@ public class ComponentHighlighter extends AbstractBaseJavaLocalInspectionTool {
             }
         }
         //Check Component classes for constructors, they only allowed to have a default contructor or a constructor with parameters that can be used as @Inject
-        psiClass.getConstructors();
+        ClassDataManager classDataManager = ClassDataManager.getInstance(psiClass.getProject());
+        InjectionPoints injectionPoints = null;
         for (PsiMethod constructor : psiClass.getConstructors()) {
             if (constructor.getParameterList().getParameters().length == 0) {
                 continue;
             }
-            if (!ClassDataManager.isComponentClass(psiClass) || psiClass.getAnnotation("net.vortexdevelopment.vinject.annotation.util.Injectable") != null) {
+            if (!classDataManager.isComponentClass(psiClass) || psiClass.getAnnotation("net.vortexdevelopment.vinject.annotation.util.Injectable") != null) {
                 continue;
             }
+            if (injectionPoints == null) {
+                injectionPoints = classDataManager.getInjectionPoints(psiClass);
+            }
             for (PsiParameter parameter : constructor.getParameterList().getParameters()) {
-                if (parameter.getType() instanceof PsiClassType psiClassType) { //Add primitive types
-                    if (!ClassDataManager.isClassProvided(psiClassType.resolve())) {
+                if (injectionPoints.contains(parameter)) { //Add primitive types
+                    if (!injectionPoints.isProvided(parameter)) {
                         //Show error
                         ProblemDescriptor descriptor = manager.createProblemDescriptor(
                                 parameter,
@@ -173,10 +204,20 @@ public class ComponentHighlighter extends AbstractBaseJavaLocalInspectionTool {
 
     @Override
     public ProblemDescriptor @Nullable [] checkField(@NotNull PsiField field, @NotNull InspectionManager manager, boolean isOnTheFly) {
+        long start = System.nanoTime();
+        try {
+            return doCheckField(field, manager, isOnTheFly);
+        } finally {
+            VInjectMetrics.getInstance().record(VInjectMetrics.INSPECTION_CHECK_FIELD, start);
+        }
+    }
+
+    private ProblemDescriptor @Nullable [] doCheckField(@NotNull PsiField field, @NotNull InspectionManager manager, boolean isOnTheFly) {
         List<ProblemDescriptor> descriptors = new ArrayList<>();
         PsiClass containingClass = field.getContainingClass();
+        ClassDataManager classDataManager = ClassDataManager.getInstance(field.getProject());
 
-        boolean isComponent = containingClass != null && ClassDataManager.isComponentClass(containingClass);
+        boolean isComponent = containingClass != null && classDataManager.isComponentClass(containingClass);
 
         //The current class is a component class
         if (!isComponent) {
@@ -199,10 +240,11 @@ public class ComponentHighlighter extends AbstractBaseJavaLocalInspectionTool {
 
             PsiAnnotation injectAnnotation = field.getAnnotation("net.vortexdevelopment.vinject.annotation.Inject");
             if (injectAnnotation != null) {
-                if (field.getType() instanceof PsiClassType psiClassType) {
-                    PsiClass psiClass = psiClassType.resolve();
+                if (field.getType() instanceof PsiClassType) {
+                    InjectionPoints injectionPoints = classDataManager.getInjectionPoints(containingClass);
+                    PsiClass psiClass = injectionPoints.getResolvedClass(field);
                     if (psiClass != null) {
-                        if (!ClassDataManager.isClassProvided(psiClass)) {
+                        if (!injectionPoints.isProvided(field)) {
                             //Show error
                             ProblemDescriptor descriptor = manager.createProblemDescriptor(
                                     field,
@@ -221,9 +263,7 @@ public class ComponentHighlighter extends AbstractBaseJavaLocalInspectionTool {
                     if (project == null) {
                         return descriptors.isEmpty() ? null : descriptors.toArray(new ProblemDescriptor[0]);
                     }
-                    GlobalSearchScope scope = GlobalSearchScope.projectScope(project);
-                    Query<PsiReference> query = ReferencesSearch.search(field, scope);
-                    if (query.findFirst() == null && !field.hasAnnotation("lombok.Getter")) {
+                    if (!field.hasAnnotation("lombok.Getter") && !isFieldUsed(field, project)) {
                         ProblemDescriptor descriptor = manager.createProblemDescriptor(
                                 field,
                                 "Injected field is never used",
@@ -237,21 +277,17 @@ public class ComponentHighlighter extends AbstractBaseJavaLocalInspectionTool {
 
                     // Check if field injection (non-static) is used in constructor
                     // Field injection happens after constructor, so the field will be null in constructor
-                    if (!field.hasModifierProperty(PsiModifier.STATIC) && containingClass != null) {
-                        for (PsiMethod constructor : containingClass.getConstructors()) {
-                            if (isFieldReferencedInConstructor(field, constructor)) {
-                                ProblemDescriptor descriptor = manager.createProblemDescriptor(
-                                        field,
-                                        "Field injection cannot be used in constructor. Field will be null during constructor execution.",
-                                        true,
-                                        ProblemHighlightType.GENERIC_ERROR,
-                                        isOnTheFly,
-                                        new MoveFieldToConstructorParameter()
-                                );
-                                descriptors.add(descriptor);
-                                break; // Only report once per field
-                            }
-                        }
+                    if (!field.hasModifierProperty(PsiModifier.STATIC) && containingClass != null
+                            && getFieldsReferencedInConstructors(containingClass).contains(field)) {
+                        ProblemDescriptor descriptor = manager.createProblemDescriptor(
+                                field,
+                                "Field injection cannot be used in constructor. Field will be null during constructor execution.",
+                                true,
+                                ProblemHighlightType.GENERIC_ERROR,
+                                isOnTheFly,
+                                new MoveFieldToConstructorParameter()
+                        );
+                        descriptors.add(descriptor);
                     }
                 }
             }
@@ -280,25 +316,107 @@ public class ComponentHighlighter extends AbstractBaseJavaLocalInspectionTool {
     }
 
     /**
-     * Checks if a field is referenced within a constructor body.
+     * Checks if a field is referenced anywhere.
+     * Private fields can only be used inside their top level class, which is scanned locally instead of
+     * running a project wide reference search.
      * @param field The field to check
-     * @param constructor The constructor to check
-     * @return true if the field is referenced in the constructor body
+     * @param project Project of the field
+     * @return true if any reference to the field exists
      */
-    private boolean isFieldReferencedInConstructor(@NotNull PsiField field, @NotNull PsiMethod constructor) {
-        PsiCodeBlock body = constructor.getBody();
-        if (body == null) {
-            return false;
+    private boolean isFieldUsed(@NotNull PsiField field, @NotNull Project project) {
+        if (field.hasModifierProperty(PsiModifier.PRIVATE)) {
+            PsiClass topLevelClass = PsiUtil.getTopLevelClass(field);
+            if (topLevelClass != null) {
+                return getReferencedPrivateFields(topLevelClass).contains(field);
+            }
         }
+        GlobalSearchScope scope = GlobalSearchScope.projectScope(project);
+        Query<PsiReference> query = ReferencesSearch.search(field, scope);
+        return query.findFirst() != null;
+    }
 
-        // Find all reference expressions in the constructor body
-        Collection<PsiReferenceExpression> references = PsiTreeUtil.findChildrenOfType(body, PsiReferenceExpression.class);
-        for (PsiReferenceExpression ref : references) {
-            PsiElement resolved = ref.resolve();
-            if (resolved != null && resolved.equals(field)) {
-                return true;
+    /**
+     * Collects the private fields of a top level class and its inner classes that are referenced within it,
+     * from code or from javadoc like {@code {@link #field}}, the same usages a references search finds.
+     * Cached until the containing file changes, references are only resolved when their name matches a private field.
+     * @param topLevelClass The top level class to scan
+     * @return Referenced private fields
+     */
+    private static Set<PsiField> getReferencedPrivateFields(@NotNull PsiClass topLevelClass) {
+        return CachedValuesManager.getCachedValue(topLevelClass, () -> {
+            Set<PsiField> privateFields = new HashSet<>();
+            Set<String> privateFieldNames = new HashSet<>();
+            for (PsiField field : PsiTreeUtil.findChildrenOfType(topLevelClass, PsiField.class)) {
+                if (field.hasModifierProperty(PsiModifier.PRIVATE)) {
+                    privateFields.add(field);
+                    privateFieldNames.add(field.getName());
+                }
             }
-        }
-        return false;
+
+            Set<PsiField> referenced = new HashSet<>();
+            if (!privateFields.isEmpty()) {
+                topLevelClass.accept(new JavaRecursiveElementWalkingVisitor() {
+                    @Override
+                    public void visitReferenceExpression(@NotNull PsiReferenceExpression expression) {
+                        super.visitReferenceExpression(expression);
+                        String name = expression.getReferenceName();
+                        if (name != null && privateFieldNames.contains(name)
+                                && expression.resolve() instanceof PsiField resolved && privateFields.contains(resolved)) {
+                            referenced.add(resolved);
+                        }
+                    }
+
+                    @Override
+                    public void visitDocTagValue(@NotNull PsiDocTagValue value) {
+                        super.visitDocTagValue(value);
+                        if (value instanceof PsiDocMethodOrFieldRef docReference) {
+                            PsiElement nameElement = docReference.getNameElement();
+                            PsiReference reference = docReference.getReference();
+                            if (nameElement != null && reference != null && privateFieldNames.contains(nameElement.getText())
+                                    && reference.resolve() instanceof PsiField resolved && privateFields.contains(resolved)) {
+                                referenced.add(resolved);
+                            }
+                        }
+                    }
+                });
+            }
+            return CachedValueProvider.Result.create(referenced, topLevelClass.getContainingFile());
+        });
+    }
+
+    /**
+     * Collects the fields of a class that are referenced within any of its constructor bodies.
+     * Every constructor is walked once per class and cached until the containing file changes,
+     * references are only resolved when their name matches a field of the class.
+     * @param psiClass The class to check
+     * @return Fields referenced in a constructor body
+     */
+    private static Set<PsiField> getFieldsReferencedInConstructors(@NotNull PsiClass psiClass) {
+        return CachedValuesManager.getCachedValue(psiClass, () -> {
+            Set<PsiField> fields = new HashSet<>();
+            Set<String> fieldNames = new HashSet<>();
+            for (PsiField field : psiClass.getFields()) {
+                fields.add(field);
+                fieldNames.add(field.getName());
+            }
+
+            Set<PsiField> referenced = new HashSet<>();
+            for (PsiMethod constructor : psiClass.getConstructors()) {
+                PsiCodeBlock body = constructor.getBody();
+                if (body == null || fields.isEmpty()) {
+                    continue;
+                }
+                // Find all reference expressions in the constructor body
+                Collection<PsiReferenceExpression> references = PsiTreeUtil.findChildrenOfType(body, PsiReferenceExpression.class);
+                for (PsiReferenceExpression ref : references) {
+                    String name = ref.getReferenceName();
+                    if (name != null && fieldNames.contains(name)
+                            && ref.resolve() instanceof PsiField resolved && fields.contains(resolved)) {
+                        referenced.add(resolved);
+                    }
+                }
+            }
+            return CachedValueProvider.Result.create(referenced, psiClass.getContainingFile());
+        });
     }
 }
@@ -2,15 +2,17 @@ package net.vortexdevelopment.plugin.vinject.syntax;
 
 import com.intellij.codeInsight.highlighting.HighlightErrorFilter;
 import com.intellij.psi.PsiErrorElement;
+import net.vortexdevelopment.plugin.vinject.utils.VInjectLogger;
 import org.jetbrains.annotations.NotNull;
 
 public class ErrorFilter extends HighlightErrorFilter {
 
+    private static final VInjectLogger LOG = VInjectLogger.getInstance(ErrorFilter.class);
 
 
     @Override
     public boolean shouldHighlightErrorElement(@NotNull PsiErrorElement element) {
-        System.out.println("Error Element: " + element.getErrorDescription());
+        LOG.debug(() -> "Error Element: " + element.getErrorDescription());
         return false;
     }
 }
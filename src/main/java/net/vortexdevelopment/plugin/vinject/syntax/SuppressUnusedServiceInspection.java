@@ -3,14 +3,12 @@ package net.vortexdevelopment.plugin.vinject.syntax;
 import com.intellij.codeInspection.InspectionSuppressor;
 import com.intellij.codeInspection.SuppressQuickFix;
 import com.intellij.psi.PsiClass;
-import com.intellij.psi.PsiClassType;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiExpression;
 import com.intellij.psi.PsiField;
 import com.intellij.psi.PsiIdentifier;
 import com.intellij.psi.PsiMethod;
 import com.intellij.psi.PsiReferenceExpression;
-import com.intellij.psi.PsiType;
 import net.vortexdevelopment.plugin.vinject.container.ClassDataManager;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -29,7 +27,7 @@ public class SuppressUnusedServiceInspection implements InspectionSuppressor {
             }
         }
         //Non service classes check here:
-        return ClassDataManager.isClassProvided(psiClass) && psiClass.getAnnotation("net.vortexdevelopment.vinject.annotation.Service") == null;
+        return ClassDataManager.getInstance(psiClass.getProject()).isClassProvided(psiClass) && psiClass.getAnnotation("net.vortexdevelopment.vinject.annotation.Service") == null;
     }
 
     private boolean checkMethod(@NotNull PsiMethod method) {
@@ -50,16 +48,13 @@ public class SuppressUnusedServiceInspection implements InspectionSuppressor {
         if (field.getAnnotation("net.vortexdevelopment.vinject.annotation.Inject") != null) {
             //Check if the field is used in a Service class
             PsiClass containingClass = field.getContainingClass();
-            if (containingClass != null && ClassDataManager.isComponentClass(containingClass)) {
-                //get type of the field
-                PsiType type = field.getType();
-                if (type instanceof PsiClassType psiClassType) {
-                    //Check if the type is a bean class
-                    PsiClass psiClass = psiClassType.resolve();
-                    if (psiClass != null) {
-                        return ClassDataManager.isClassProvided(psiClass);
-                    }
-                }
+            if (containingClass == null) {
+                return false;
+            }
+            ClassDataManager classDataManager = ClassDataManager.getInstance(containingClass.getProject());
+            if (classDataManager.isComponentClass(containingClass)) {
+                //Check if the type is a bean class, resolved once per class with the inspection
+                return classDataManager.getInjectionPoints(containingClass).isProvided(field);
             }
         }
         return false;
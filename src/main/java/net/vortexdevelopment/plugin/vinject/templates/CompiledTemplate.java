@@ -0,0 +1,397 @@
+package net.vortexdevelopment.plugin.vinject.templates;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Template text parsed once into a list of segments and rendered in a single pass into one {@link StringBuilder}.
+ * <p>
+ * Supported syntax, a small subset of the Velocity syntax of IDE file templates:
+ * <ul>
+ *     <li>{@code ${NAME}} is replaced by the value of the variable, unknown variables are kept as written</li>
+ *     <li>{@code #if(${NAME})} ... {@code #else} ... {@code #end} renders the first part when the variable is set,
+ *     not empty and not "false". {@code #if(!${NAME})} negates the condition</li>
+ *     <li>{@code #foreach(${ITEM} in ${LIST})} ... {@code #end} renders the body for every comma separated value of
+ *     LIST, with ITEM bound to the value</li>
+ * </ul>
+ * A line holding nothing but a directive is removed completely. Text which does not form a valid directive,
+ * as well as an unmatched {@code #else} or {@code #end}, is kept as literal text.
+ */
+final class CompiledTemplate {
+
+    private final List<Segment> segments;
+    private final int literalLength;
+
+    private CompiledTemplate(List<Segment> segments, int literalLength) {
+        this.segments = segments;
+        this.literalLength = literalLength;
+    }
+
+    static @NotNull CompiledTemplate compile(@NotNull String text) {
+        return new Parser(text).parse();
+    }
+
+    /**
+     * @param variables Value of a variable by name, null for unknown variables
+     */
+    @NotNull String render(@NotNull Function<String, String> variables) {
+        StringBuilder out = new StringBuilder(literalLength + 64);
+        Scope scope = new Scope(variables);
+        for (Segment segment : segments) {
+            segment.render(out, scope);
+        }
+        return out.toString();
+    }
+
+    private interface Segment {
+        void render(StringBuilder out, Scope scope);
+    }
+
+    /**
+     * Variable lookup with the bindings of the enclosing loops
+     */
+    private static final class Scope {
+
+        private final Function<String, String> variables;
+        private final Map<String, String> bindings = new HashMap<>();
+
+        private Scope(Function<String, String> variables) {
+            this.variables = variables;
+        }
+
+        private @Nullable String get(String name) {
+            String bound = bindings.get(name);
+            return bound != null ? bound : variables.apply(name);
+        }
+    }
+
+    private static final class Literal implements Segment {
+
+        private final String text;
+
+        private Literal(String text) {
+            this.text = text;
+        }
+
+        @Override
+        public void render(StringBuilder out, Scope scope) {
+            out.append(text);
+        }
+    }
+
+    private static final class Variable implements Segment {
+
+        private final String name;
+        private final String raw;
+
+        private Variable(String name, String raw) {
+            this.name = name;
+            this.raw = raw;
+        }
+
+        @Override
+        public void render(StringBuilder out, Scope scope) {
+            String value = scope.get(name);
+            out.append(value != null ? value : raw);
+        }
+    }
+
+    private static final class Conditional implements Segment {
+
+        private final String name;
+        private final boolean negated;
+        private final List<Segment> then = new ArrayList<>();
+        private final List<Segment> otherwise = new ArrayList<>();
+
+        private Conditional(String name, boolean negated) {
+            this.name = name;
+            this.negated = negated;
+        }
+
+        @Override
+        public void render(StringBuilder out, Scope scope) {
+            String value = scope.get(name);
+            boolean set = value != null && !value.isEmpty() && !"false".equalsIgnoreCase(value);
+            for (Segment segment : set != negated ? then : otherwise) {
+                segment.render(out, scope);
+            }
+        }
+    }
+
+    private static final class Loop implements Segment {
+
+        private final String item;
+        private final String list;
+        private final List<Segment> body = new ArrayList<>();
+
+        private Loop(String item, String list) {
+            this.item = item;
+            this.list = list;
+        }
+
+        @Override
+        public void render(StringBuilder out, Scope scope) {
+            String value = scope.get(list);
+            if (value == null || value.isEmpty()) {
+                return;
+            }
+            String previous = scope.bindings.get(item);
+            for (String element : value.split(",")) {
+                String trimmed = element.trim();
+                if (trimmed.isEmpty()) {
+                    continue;
+                }
+                scope.bindings.put(item, trimmed);
+                for (Segment segment : body) {
+                    segment.render(out, scope);
+                }
+            }
+            if (previous != null) {
+                scope.bindings.put(item, previous);
+            } else {
+                scope.bindings.remove(item);
+            }
+        }
+    }
+
+    private static final class Parser {
+
+        private final String text;
+        private final List<Segment> root = new ArrayList<>();
+        // Innermost open #if or #foreach last
+        private final Deque<Segment> open = new ArrayDeque<>();
+        private final Deque<Boolean> inElse = new ArrayDeque<>();
+        private final StringBuilder pending = new StringBuilder();
+        private int literalLength;
+        private int position;
+        // Directive recognized by parseDirective, applied once the text before it is flushed
+        private String keyword;
+        private Segment directive;
+
+        private Parser(String text) {
+            this.text = text;
+        }
+
+        private CompiledTemplate parse() {
+            int textStart = 0;
+            while (position < text.length()) {
+                char c = text.charAt(position);
+                if (c == '$') {
+                    int end = parseVariableEnd(position);
+                    if (end > 0) {
+                        pending.append(text, textStart, position);
+                        flush();
+                        String raw = text.substring(position, end);
+                        current().add(new Variable(raw.substring(2, raw.length() - 1), raw));
+                        position = end;
+                        textStart = end;
+                        continue;
+                    }
+                } else if (c == '#') {
+                    int start = position;
+                    if (parseDirective()) {
+                        int lineStart = text.lastIndexOf('\n', start - 1) + 1;
+                        int lineEnd = text.indexOf('\n', position);
+                        boolean standalone = lineStart >= textStart
+                                && isBlank(lineStart, start)
+                                && isBlank(position, lineEnd < 0 ? text.length() : lineEnd);
+                        if (standalone) {
+                            // The directive is alone on its line, drop the whole line
+                            pending.append(text, textStart, lineStart);
+                            position = lineEnd < 0 ? text.length() : lineEnd + 1;
+                        } else {
+                            pending.append(text, textStart, start);
+                        }
+                        flush();
+                        applyDirective();
+                        textStart = position;
+                        continue;
+                    }
+                    position = start;
+                }
+                position++;
+            }
+            pending.append(text, textStart, text.length());
+            flush();
+            // Unclosed blocks end with the template
+            return new CompiledTemplate(root, literalLength);
+        }
+
+        /**
+         * Recognize a directive at the current position and move behind it
+         */
+        private boolean parseDirective() {
+            directive = null;
+            keyword = null;
+            if (matchKeyword("#else")) {
+                keyword = "else";
+                return !open.isEmpty() && open.peekLast() instanceof Conditional && !inElse.peekLast();
+            }
+            if (matchKeyword("#end")) {
+                keyword = "end";
+                return !open.isEmpty();
+            }
+            if (matchKeyword("#if")) {
+                String[] arguments = parseArguments();
+                if (arguments == null || arguments.length != 1) {
+                    return false;
+                }
+                boolean negated = arguments[0].startsWith("!");
+                String name = variableName(negated ? arguments[0].substring(1).trim() : arguments[0]);
+                if (name == null) {
+                    return false;
+                }
+                keyword = "if";
+                directive = new Conditional(name, negated);
+                return true;
+            }
+            if (matchKeyword("#foreach")) {
+                String[] arguments = parseArguments();
+                if (arguments == null || arguments.length != 3 || !arguments[1].equals("in")) {
+                    return false;
+                }
+                String item = variableName(arguments[0]);
+                String list = variableName(arguments[2]);
+                if (item == null || list == null) {
+                    return false;
+                }
+                keyword = "foreach";
+                directive = new Loop(item, list);
+                return true;
+            }
+            return false;
+        }
+
+        private void applyDirective() {
+            switch (keyword) {
+                case "else" -> {
+                    inElse.removeLast();
+                    inElse.addLast(true);
+                }
+                case "end" -> {
+                    open.removeLast();
+                    inElse.removeLast();
+                }
+                default -> {
+                    current().add(directive);
+                    open.addLast(directive);
+                    inElse.addLast(false);
+                }
+            }
+        }
+
+        private boolean matchKeyword(String keyword) {
+            int end = position + keyword.length();
+            // A variable may follow directly, "#end${NAME}" ends the block
+            if (!text.startsWith(keyword, position) || (end < text.length() && isKeywordPart(text.charAt(end)))) {
+                return false;
+            }
+            position = end;
+            return true;
+        }
+
+        /**
+         * Parse "(a b c)" after a keyword, optionally preceded by spaces
+         *
+         * @return Whitespace separated arguments, null if there is no argument list
+         */
+        private String @Nullable [] parseArguments() {
+            int index = position;
+            while (index < text.length() && text.charAt(index) == ' ') {
+                index++;
+            }
+            if (index >= text.length() || text.charAt(index) != '(') {
+                return null;
+            }
+            int close = text.indexOf(')', index);
+            int newline = text.indexOf('\n', index);
+            if (close < 0 || (newline >= 0 && newline < close)) {
+                return null;
+            }
+            String arguments = text.substring(index + 1, close).trim();
+            position = close + 1;
+            return arguments.isEmpty() ? new String[0] : arguments.split("\\s+");
+        }
+
+        /**
+         * @return Name of a $NAME or ${NAME} reference, null if it is not one
+         */
+        private static @Nullable String variableName(String reference) {
+            String name;
+            if (reference.startsWith("${") && reference.endsWith("}")) {
+                name = reference.substring(2, reference.length() - 1);
+            } else if (reference.startsWith("$")) {
+                name = reference.substring(1);
+            } else {
+                return null;
+            }
+            return isIdentifier(name) ? name : null;
+        }
+
+        /**
+         * @return End index of a ${NAME} reference starting at the index, -1 if there is none
+         */
+        private int parseVariableEnd(int start) {
+            if (start + 1 >= text.length() || text.charAt(start + 1) != '{') {
+                return -1;
+            }
+            int close = text.indexOf('}', start + 2);
+            return close > 0 && isIdentifier(text.substring(start + 2, close)) ? close + 1 : -1;
+        }
+
+        private static boolean isIdentifier(String name) {
+            if (name.isEmpty() || !Character.isJavaIdentifierStart(name.charAt(0))) {
+                return false;
+            }
+            for (int i = 1; i < name.length(); i++) {
+                if (!Character.isJavaIdentifierPart(name.charAt(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static boolean isKeywordPart(char c) {
+            return Character.isLetterOrDigit(c) || c == '_';
+        }
+
+        private boolean isBlank(int from, int to) {
+            for (int i = from; i < to; i++) {
+                if (!Character.isWhitespace(text.charAt(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private void flush() {
+            if (pending.length() > 0) {
+                current().add(new Literal(pending.toString()));
+                literalLength += pending.length();
+                pending.setLength(0);
+            }
+        }
+
+        /**
+         * @return Segment list new segments are added to
+         */
+        private List<Segment> current() {
+            Segment block = open.peekLast();
+            if (block instanceof Conditional conditional) {
+                return inElse.peekLast() ? conditional.otherwise : conditional.then;
+            }
+            if (block instanceof Loop loop) {
+                return loop.body;
+            }
+            return root;
+        }
+    }
+}
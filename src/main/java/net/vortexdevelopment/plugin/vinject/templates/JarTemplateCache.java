@@ -0,0 +1,142 @@
+package net.vortexdevelopment.plugin.vinject.templates;
+
+import com.intellij.openapi.application.PathManager;
+import com.intellij.util.io.IOUtil;
+import net.vortexdevelopment.plugin.vinject.utils.VInjectLogger;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Templates found in dependency jars, keyed by jar path and validated by size and modification time.
+ * Jars without templates are stored as negative entries, so unchanged jars are never opened again.
+ * The cache is kept in the IDE system directory and survives restarts.
+ */
+final class JarTemplateCache {
+
+    private static final VInjectLogger LOG = VInjectLogger.getInstance(JarTemplateCache.class);
+    private static final int MAGIC = 0x564A5443; // "VJTC"
+    private static final int FORMAT_VERSION = 1;
+
+    private final Path file;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private volatile boolean loaded;
+    private volatile boolean dirty;
+
+    JarTemplateCache() {
+        this(PathManager.getSystemDir().resolve("vinject").resolve("template-jars.bin"));
+    }
+
+    JarTemplateCache(@NotNull Path file) {
+        this.file = file;
+    }
+
+    /**
+     * @return Templates of the jar, an empty list for a jar without templates, null if the jar is unknown or changed
+     */
+    @Nullable List<UnregisteredTemplate> get(@NotNull String jarPath, long size, long modified) {
+        ensureLoaded();
+        Entry entry = entries.get(jarPath);
+        return entry != null && entry.size == size && entry.modified == modified ? entry.templates : null;
+    }
+
+    void put(@NotNull String jarPath, long size, long modified, @NotNull List<UnregisteredTemplate> templates) {
+        ensureLoaded();
+        entries.put(jarPath, new Entry(size, modified, List.copyOf(templates)));
+        dirty = true;
+    }
+
+    /**
+     * Write the cache if it changed since it was loaded or saved
+     */
+    void save() {
+        if (!dirty) {
+            return;
+        }
+        dirty = false;
+        try {
+            Files.createDirectories(file.getParent());
+            Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT_VERSION);
+                Map<String, Entry> copy = Map.copyOf(entries);
+                out.writeInt(copy.size());
+                for (Map.Entry<String, Entry> mapEntry : copy.entrySet()) {
+                    Entry entry = mapEntry.getValue();
+                    IOUtil.writeUTF(out, mapEntry.getKey());
+                    out.writeLong(entry.size);
+                    out.writeLong(entry.modified);
+                    out.writeInt(entry.templates.size());
+                    for (UnregisteredTemplate template : entry.templates) {
+                        IOUtil.writeUTF(out, template.getName());
+                        IOUtil.writeUTF(out, template.getText());
+                        IOUtil.writeUTF(out, template.getExtension());
+                    }
+                }
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            LOG.warn(() -> "Failed to write the template jar cache " + file, e);
+        }
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        synchronized (this) {
+            if (loaded) {
+                return;
+            }
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+                if (in.readInt() == MAGIC && in.readInt() == FORMAT_VERSION) {
+                    int count = in.readInt();
+                    for (int i = 0; i < count; i++) {
+                        String jarPath = IOUtil.readUTF(in);
+                        long size = in.readLong();
+                        long modified = in.readLong();
+                        int templateCount = in.readInt();
+                        List<UnregisteredTemplate> templates = new ArrayList<>(templateCount);
+                        for (int j = 0; j < templateCount; j++) {
+                            templates.add(new UnregisteredTemplate(IOUtil.readUTF(in), IOUtil.readUTF(in), IOUtil.readUTF(in)));
+                        }
+                        entries.putIfAbsent(jarPath, new Entry(size, modified, templates));
+                    }
+                }
+            } catch (NoSuchFileException ignored) {
+                // First start, nothing cached yet
+            } catch (IOException e) {
+                LOG.warn(() -> "Discarding unreadable template jar cache " + file, e);
+                entries.clear();
+            }
+            loaded = true;
+        }
+    }
+
+    private static final class Entry {
+
+        private final long size;
+        private final long modified;
+        private final List<UnregisteredTemplate> templates;
+
+        private Entry(long size, long modified, List<UnregisteredTemplate> templates) {
+            this.size = size;
+            this.modified = modified;
+            this.templates = templates;
+        }
+    }
+}
@@ -10,16 +10,17 @@ import com.intellij.psi.PsiDirectory;
 import com.intellij.psi.PsiFile;
 import net.vortexdevelopment.plugin.vinject.Plugin;
 import net.vortexdevelopment.plugin.vinject.utils.PluginIcons;
+import net.vortexdevelopment.plugin.vinject.utils.VInjectLogger;
 import org.jetbrains.annotations.NonNls;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 import java.util.Properties;
 
 public class TemplateFileAction extends CreateFileFromTemplateAction {
 
+    private static final VInjectLogger LOG = VInjectLogger.getInstance(TemplateFileAction.class);
+
     public TemplateFileAction() {
         super("VInject Component", "Create a new VInject component", PluginIcons.PLUGIN_ICON);
     }
@@ -43,12 +44,8 @@ public class TemplateFileAction extends CreateFileFromTemplateAction {
     protected void buildDialog(@NotNull Project project, @NotNull PsiDirectory directory, CreateFileFromTemplateDialog.@NotNull Builder builder) {
         builder.setTitle("New VInject Component");
 
-        // Add all templates from our TemplateManager
-        TemplateManager templateManager = TemplateManager.getInstance();
-
-        // Convert to list and sort alphabetically
-        List<String> sortedTemplates = new ArrayList<>(templateManager.getTemplates());
-        Collections.sort(sortedTemplates);
+        // Add all templates from our TemplateManager, the registry keeps them sorted
+        List<String> sortedTemplates = TemplateManager.getInstance().getTemplates();
 
         // Add sorted templates to builder
         for (String templateName : sortedTemplates) {
@@ -59,7 +56,8 @@ public class TemplateFileAction extends CreateFileFromTemplateAction {
 
     @Override
     protected PsiFile createFile(String name, String templateName, PsiDirectory dir) {
-        System.out.println("Creating file with name: " + name + " and template: " + templateName);
+        String requestedName = name;
+        LOG.debug(() -> "Creating file with name: " + requestedName + " and template: " + templateName);
 
         UnregisteredTemplate unregisteredTemplate = TemplateManager.getInstance().getTemplate(templateName);
         if (unregisteredTemplate == null) {
@@ -112,7 +110,7 @@ public class TemplateFileAction extends CreateFileFromTemplateAction {
 
             return file;
         } catch (Exception e) {
-            e.printStackTrace();
+            LOG.warn(() -> "Failed to create " + requestedName + " from template " + templateName, e);
             return null;
         }
     }
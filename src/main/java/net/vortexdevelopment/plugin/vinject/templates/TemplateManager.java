@@ -4,26 +4,34 @@ import com.intellij.ide.fileTemplates.FileTemplate;
 import com.intellij.ide.fileTemplates.FileTemplateManager;
 import com.intellij.openapi.module.Module;
 import com.intellij.openapi.module.ModuleManager;
+import com.intellij.openapi.progress.util.ProgressIndicatorUtils;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.roots.ModuleRootManager;
+import com.intellij.openapi.vfs.JarFileSystem;
+import com.intellij.openapi.vfs.VfsUtilCore;
 import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.psi.PsiAnnotation;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiLiteralExpression;
+import com.intellij.util.concurrency.AppExecutorUtil;
 import net.vortexdevelopment.plugin.vinject.Plugin;
 import net.vortexdevelopment.plugin.vinject.container.ClassDataManager;
+import net.vortexdevelopment.plugin.vinject.diagnostics.VInjectMetrics;
+import net.vortexdevelopment.plugin.vinject.utils.VInjectLogger;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
-import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.jar.JarFile;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 public class TemplateManager {
 
@@ -36,9 +44,16 @@ public class TemplateManager {
             "RegistryTemplate",
     };
 
+    private static final VInjectLogger LOG = VInjectLogger.getInstance(TemplateManager.class);
     private static final TemplateManager instance = new TemplateManager();
-    private final Map<String, UnregisteredTemplate> templates = new LinkedHashMap<>();
+    // Dependency templates are discovered on several threads at once
+    private static final ExecutorService TEMPLATE_EXECUTOR = AppExecutorUtil.createBoundedApplicationPoolExecutor(
+            "VInject Template Loader", Math.min(4, Runtime.getRuntime().availableProcessors()));
+    private final TemplateRegistry templates = new TemplateRegistry();
     private final Map<String, Set<String>> fileTemplates = new ConcurrentHashMap<>();
+    // Resource files the @RegisterTemplate templates were read from
+    private final Set<VirtualFile> templateFiles = ConcurrentHashMap.newKeySet();
+    private final JarTemplateCache jarCache = new JarTemplateCache();
 
     public static TemplateManager getInstance() {
         return instance;
@@ -46,7 +61,7 @@ public class TemplateManager {
 
     private TemplateManager() {
         for (String template : DEFAULT_TEMPLATES) {
-            templates.put(template, new UnregisteredTemplate(template, getDefaultTemplateContent(template), "java"));
+            templates.put(new UnregisteredTemplate(template, getDefaultTemplateContent(template), "java"));
         }
     }
 
@@ -55,7 +70,7 @@ public class TemplateManager {
         try {
             return new String(Plugin.class.getResourceAsStream("/fileTemplates/" + templateName + ".java.ft").readAllBytes(), StandardCharsets.UTF_8);
         } catch (IOException e) {
-            System.out.println("Could not find template at: fileTemplates/" + templateName + ".java.ft");
+            LOG.warn(() -> "Could not find template at: fileTemplates/" + templateName + ".java.ft");
             throw new RuntimeException(e);
         }
     }
@@ -108,7 +123,7 @@ public class TemplateManager {
                 try {
                     String content = new String(file.contentsToByteArray(), StandardCharsets.UTF_8);
                     String templateName = file.getName();
-                    System.out.println("Original filename: " + file.getName());
+                    LOG.debug(() -> "Found template file: " + file.getName());
 
 
                     String extension = templateName.substring(templateName.indexOf('.'));
@@ -122,12 +137,8 @@ public class TemplateManager {
 
 
                     // Register the template
-                    //FileTemplate template = FileTemplateManager.getInstance(project).addTemplate(templateName, extension);
-//                    template.setText(content);
-//                    templates.add(templateName);
-//                    System.out.println("Registering template: " + template.getName());
                     UnregisteredTemplate template = new UnregisteredTemplate(templateName, content, extension);
-                    templates.put(templateName, template);
+                    templates.put(template);
                 } catch (IOException e) {
                     // Failed to read template content
                 }
@@ -158,6 +169,7 @@ public class TemplateManager {
         VirtualFile templateFile = findResourceFile(project, resourcePath);
 
         if (templateFile != null) {
+            templateFiles.add(templateFile);
             try {
                 // Read template content
                 String content = new String(templateFile.contentsToByteArray(), StandardCharsets.UTF_8);
@@ -180,17 +192,20 @@ public class TemplateManager {
 
                 // Register template
                 UnregisteredTemplate template = new UnregisteredTemplate(templateName, content, extension);
-                templates.put(templateName, template);
+                templates.put(template);
 
                 // Register the annotation as a component annotation
-                ClassDataManager.registerComponentAnnotation(annotationFqcn);
+                ClassDataManager.getInstance(project).registerComponentAnnotation(annotationFqcn);
 
-                System.out.println("Registered template " + templateName + " for annotation " + annotationFqcn);
+                String registeredName = templateName;
+                String registeredAnnotation = annotationFqcn;
+                LOG.debug(() -> "Registered template " + registeredName + " for annotation " + registeredAnnotation);
             } catch (IOException e) {
-                System.out.println("Error reading template file: " + e.getMessage());
+                LOG.warn(() -> "Error reading template file: " + e.getMessage());
             }
         } else {
-            System.out.println("Template file not found: " + resourcePath);
+            String missingPath = resourcePath;
+            LOG.warn(() -> "Template file not found: " + missingPath);
         }
     }
 
@@ -269,7 +284,7 @@ public class TemplateManager {
             }
 
             // Unregister the component annotation
-            ClassDataManager.unregisterComponentAnnotation(annotationFqcn);
+            ClassDataManager.getInstance(project).unregisterComponentAnnotation(annotationFqcn);
         }
 
         // Update tracking map
@@ -289,69 +304,86 @@ public class TemplateManager {
         return null;
     }
 
-    public Set<String> getTemplates() {
-        return templates.keySet();
+    /**
+     * @return Names of all registered templates in sorted order, an immutable snapshot
+     */
+    public List<String> getTemplates() {
+        return templates.getSnapshot().getSortedNames();
+    }
+
+    /**
+     * Register the templates packaged under vinject/templates/ of a class root.
+     * Jar roots are read through the IDE's already open {@link JarFileSystem}, only the template directory is visited.
+     *
+     * @param classRoot Library class root, a jar root or a directory
+     */
+    public void registerTemplatesFromRoot(VirtualFile classRoot) {
+        registerPackagedTemplates(loadTemplatesFromRoot(classRoot));
+    }
+
+    private void registerPackagedTemplates(List<UnregisteredTemplate> packagedTemplates) {
+        // Prevent duplicate registration: don't overwrite existing template
+        templates.putAllIfAbsent(packagedTemplates);
     }
 
-    public void registerTemplateFromJar(String absolutePath) {
-        // Normalize possible URI or jar-root paths to a local filesystem path
-        String jarPath = absolutePath;
+    private List<UnregisteredTemplate> loadTemplatesFromRoot(VirtualFile classRoot) {
+        // Timed per root, most roots have no templates and still cost a lookup
+        long start = System.nanoTime();
         try {
-            if (jarPath.startsWith("file:")) {
-                try {
-                    jarPath = new java.io.File(new java.net.URI(jarPath)).getAbsolutePath();
-                } catch (Exception ignore) {
-                    // Fallback: strip file: prefix
-                    jarPath = jarPath.replaceFirst("file:", "");
+            VirtualFile jar = JarFileSystem.getInstance().getVirtualFileForJar(classRoot);
+            List<UnregisteredTemplate> rootTemplates;
+            if (jar != null) {
+                rootTemplates = jarCache.get(jar.getPath(), jar.getLength(), jar.getTimeStamp());
+                if (rootTemplates == null) {
+                    rootTemplates = readTemplatesFromRoot(classRoot);
+                    jarCache.put(jar.getPath(), jar.getLength(), jar.getTimeStamp(), rootTemplates);
+                } else {
+                    VInjectMetrics.getInstance().increment(VInjectMetrics.TEMPLATE_JAR_CACHE_HIT);
                 }
+            } else {
+                // Directories can change at any time, they are not cached
+                rootTemplates = readTemplatesFromRoot(classRoot);
             }
-            // If path still contains the jar internal marker, convert to regular jar path
-            if (jarPath.contains(".jar!/")) {
-                jarPath = jarPath.replace(".jar!/", ".jar");
-            }
+            return rootTemplates;
+        } finally {
+            VInjectMetrics.getInstance().record(VInjectMetrics.TEMPLATE_JAR_SCAN, start);
+        }
+    }
 
-            try (JarFile jarFile = new JarFile(jarPath)) {
-                jarFile.stream()
-                        .forEach(entry -> {
-                            if (entry.getName().startsWith("vinject/templates/") && entry.getName().endsWith(".ft")) {
-                                try {
-                                    String content = new String(jarFile.getInputStream(entry).readAllBytes(), StandardCharsets.UTF_8);
-
-                                    // Get the filename without path
-                                    String fileName = entry.getName().substring(entry.getName().lastIndexOf('/') + 1);
-
-                                    // Remove the .ft extension
-                                    fileName = fileName.substring(0, fileName.length() - 3);
-
-                                    // Parse name and extension properly
-                                    String templateName;
-                                    String extension;
-
-                                    int dotIndex = fileName.lastIndexOf('.');
-                                    if (dotIndex > 0) {
-                                        // Template has an extension like "SomeTemplate.java"
-                                        templateName = fileName.substring(0, dotIndex);
-                                        extension = fileName.substring(dotIndex + 1);
-                                    } else {
-                                        // No extension in the template name
-                                        templateName = fileName;
-                                        extension = "txt";
-                                    }
-
-                                    // Prevent duplicate registration: don't overwrite existing template
-                                    if (!templates.containsKey(templateName)) {
-                                        UnregisteredTemplate template = new UnregisteredTemplate(templateName, content, extension);
-                                        templates.put(templateName, template);
-                                    }
-                                } catch (IOException e) {
-                                    throw new RuntimeException(e);
-                                }
-                            }
-                        });
+    private List<UnregisteredTemplate> readTemplatesFromRoot(VirtualFile classRoot) {
+        VirtualFile directory = classRoot.isValid() ? classRoot.findFileByRelativePath("vinject/templates") : null;
+        if (directory == null || !directory.isDirectory()) {
+            return List.of();
+        }
+        List<UnregisteredTemplate> found = new ArrayList<>();
+        VfsUtilCore.iterateChildrenRecursively(directory, null, file -> {
+            if (!file.isDirectory() && file.getName().endsWith(".ft")) {
+                try {
+                    found.add(createPackagedTemplate(file.getName(), new String(file.contentsToByteArray(), StandardCharsets.UTF_8)));
+                } catch (IOException e) {
+                    LOG.warn(() -> "Could not read template " + file.getPath() + ": " + e.getMessage());
+                }
             }
-        } catch (IOException e) {
-            // Failed to open jar; ignore silently to avoid breaking startup
+            return true;
+        });
+        return found;
+    }
+
+    /**
+     * Template packaged in a dependency, named like SomeTemplate.java.ft
+     */
+    private static UnregisteredTemplate createPackagedTemplate(String fileName, String content) {
+        // Remove the .ft extension
+        fileName = fileName.substring(0, fileName.length() - 3);
+
+        // Parse name and extension properly
+        int dotIndex = fileName.lastIndexOf('.');
+        if (dotIndex > 0) {
+            // Template has an extension like "SomeTemplate.java"
+            return new UnregisteredTemplate(fileName.substring(0, dotIndex), content, fileName.substring(dotIndex + 1));
         }
+        // No extension in the template name
+        return new UnregisteredTemplate(fileName, content, "txt");
     }
 
     /**
@@ -364,24 +396,58 @@ public class TemplateManager {
     public void reloadTemplates(Project project) {
         if (project == null) return;
 
-        // Iterate over modules and their class roots to find dependency jars
+        // Modules share most of their libraries, every class root is visited once
+        Set<VirtualFile> classRoots = new LinkedHashSet<>();
         for (Module module : ModuleManager.getInstance(project).getModules()) {
-            ModuleRootManager rootManager = ModuleRootManager.getInstance(module);
-            for (VirtualFile classRoot : rootManager.orderEntries().getAllLibrariesAndSdkClassesRoots()) {
-                String path = classRoot.getPath();
-                try {
-                    String jarPath = path;
-                    if (path.contains(".jar!")) {
-                        jarPath = path.replace(".jar!/", ".jar");
-                    }
-                    registerTemplateFromJar(jarPath);
-                } catch (Exception ignored) {
-                }
+            Collections.addAll(classRoots, ModuleRootManager.getInstance(module).orderEntries().getAllLibrariesAndSdkClassesRoots());
+        }
+
+        // Roots are read in parallel and registered in classpath order, so the first root providing a name still wins
+        List<Future<List<UnregisteredTemplate>>> loads = new ArrayList<>(classRoots.size());
+        for (VirtualFile classRoot : classRoots) {
+            loads.add(TEMPLATE_EXECUTOR.submit(() -> loadTemplatesFromRoot(classRoot)));
+        }
+        try {
+            for (Future<List<UnregisteredTemplate>> load : loads) {
+                registerPackagedTemplates(ProgressIndicatorUtils.awaitWithCheckCanceled(load));
             }
+        } finally {
+            // Nothing left to wait for after a cancellation
+            loads.forEach(load -> load.cancel(false));
         }
+        // Remember the scanned jars, including the ones without templates
+        jarCache.save();
     }
 
     public UnregisteredTemplate getTemplate(String templateName) {
         return templates.get(templateName);
     }
+
+    /**
+     * @return Copy of every registered template, used by the registry snapshot
+     */
+    public List<UnregisteredTemplate> getRegisteredTemplates() {
+        return new ArrayList<>(templates.getSnapshot().getTemplates());
+    }
+
+    /**
+     * @return Resource files the @RegisterTemplate templates were read from, the registry snapshot checks their stamps
+     */
+    public Collection<VirtualFile> getTemplateFiles() {
+        return new ArrayList<>(templateFiles);
+    }
+
+    /**
+     * Register a template restored from the registry snapshot, existing templates are kept
+     */
+    public void restoreTemplate(UnregisteredTemplate template) {
+        templates.putAllIfAbsent(List.of(template));
+    }
+
+    /**
+     * Remember a template file restored from the registry snapshot, so the next snapshot checks it again
+     */
+    public void restoreTemplateFile(VirtualFile file) {
+        templateFiles.add(file);
+    }
 }
\ No newline at end of file
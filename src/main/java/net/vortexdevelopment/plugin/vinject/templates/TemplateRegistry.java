@@ -0,0 +1,113 @@
+package net.vortexdevelopment.plugin.vinject.templates;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
+
+/**
+ * Copy-on-write registry of the templates by name.
+ * <p>
+ * Every change publishes a new immutable {@link Snapshot} with the names in sorted order.
+ * Readers never lock and always see one consistent state, writers retry when another writer published first.
+ * Changes are rare and small compared to reads, so copying the map on every change is cheap.
+ */
+final class TemplateRegistry {
+
+    private final AtomicReference<Snapshot> current = new AtomicReference<>(new Snapshot(Map.of()));
+
+    @NotNull Snapshot getSnapshot() {
+        return current.get();
+    }
+
+    @Nullable UnregisteredTemplate get(@NotNull String name) {
+        return current.get().templates.get(name);
+    }
+
+    void put(@NotNull UnregisteredTemplate template) {
+        update(templates -> {
+            Map<String, UnregisteredTemplate> copy = new HashMap<>(templates);
+            copy.put(template.getName(), template);
+            return copy;
+        });
+    }
+
+    /**
+     * Register all templates whose name is not taken yet, published as a single change
+     */
+    void putAllIfAbsent(@NotNull Collection<UnregisteredTemplate> added) {
+        if (added.isEmpty()) {
+            return;
+        }
+        update(templates -> {
+            Map<String, UnregisteredTemplate> copy = null;
+            for (UnregisteredTemplate template : added) {
+                if (!templates.containsKey(template.getName()) && (copy == null || !copy.containsKey(template.getName()))) {
+                    if (copy == null) {
+                        copy = new HashMap<>(templates);
+                    }
+                    copy.put(template.getName(), template);
+                }
+            }
+            return copy == null ? templates : copy;
+        });
+    }
+
+    void remove(@NotNull String name) {
+        update(templates -> {
+            if (!templates.containsKey(name)) {
+                return templates;
+            }
+            Map<String, UnregisteredTemplate> copy = new HashMap<>(templates);
+            copy.remove(name);
+            return copy;
+        });
+    }
+
+    /**
+     * @param change Returns the same map when there is nothing to change, or a new map which is not modified afterwards
+     */
+    private void update(UnaryOperator<Map<String, UnregisteredTemplate>> change) {
+        while (true) {
+            Snapshot snapshot = current.get();
+            Map<String, UnregisteredTemplate> templates = change.apply(snapshot.templates);
+            if (templates == snapshot.templates) {
+                return;
+            }
+            if (current.compareAndSet(snapshot, new Snapshot(templates))) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Immutable state of the registry
+     */
+    static final class Snapshot {
+
+        private final Map<String, UnregisteredTemplate> templates;
+        private final List<String> sortedNames;
+
+        private Snapshot(Map<String, UnregisteredTemplate> templates) {
+            this.templates = templates;
+            List<String> names = new ArrayList<>(templates.keySet());
+            names.sort(null);
+            this.sortedNames = List.copyOf(names);
+        }
+
+        @NotNull List<String> getSortedNames() {
+            return sortedNames;
+        }
+
+        @NotNull Collection<UnregisteredTemplate> getTemplates() {
+            return Collections.unmodifiableCollection(templates.values());
+        }
+    }
+}
@@ -17,6 +17,8 @@ public class UnregisteredTemplate implements FileTemplate {
     private final String templateName;
     private final String content;
     private final String extension;
+    //Compiled on first use, most templates are never rendered
+    private volatile CompiledTemplate compiled;
 
     public UnregisteredTemplate(String templateName, String content, String extension) {
         this.templateName = templateName;
@@ -61,17 +63,25 @@ public class UnregisteredTemplate implements FileTemplate {
 
     @Override
     public @NotNull String getText(@NotNull Map attributes) throws IOException {
-        return content;
+        return getCompiled().render(name -> {
+            Object value = attributes.get(name);
+            return value != null ? value.toString() : null;
+        });
     }
 
     @Override
     public @NotNull String getText(@NotNull Properties attributes) throws IOException {
-        //Replace ${PLACEHOLDER} with the value from the properties
-        String text = content;
-        for (String key : attributes.stringPropertyNames()) {
-            text = text.replace("${" + key + "}", attributes.getProperty(key));
+        return getCompiled().render(attributes::getProperty);
+    }
+
+    private CompiledTemplate getCompiled() {
+        CompiledTemplate template = compiled;
+        if (template == null) {
+            //Compiling twice on a race is harmless, both results are equal
+            template = CompiledTemplate.compile(content);
+            compiled = template;
         }
-        return text;
+        return template;
     }
 
     @Override
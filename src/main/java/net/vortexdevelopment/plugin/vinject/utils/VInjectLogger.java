@@ -0,0 +1,99 @@
+package net.vortexdevelopment.plugin.vinject.utils;
+
+import com.intellij.openapi.diagnostic.Logger;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Leveled and rate limited logging on top of the IDE log.
+ * <p>
+ * Messages are passed as suppliers, so nothing is built unless the level is enabled and the call site may log.
+ * Every call site logs at most once per {@link #RATE_LIMIT_INTERVAL_MS}, the number of messages dropped
+ * in between is appended to the next logged one. Lambdas get their own class per call site,
+ * which is used as the rate limit key without walking the stack.
+ * Debug messages are only written when debug logging is enabled for the class in Help | Diagnostic Tools | Debug Log Settings.
+ */
+public final class VInjectLogger {
+
+    static final long RATE_LIMIT_INTERVAL_MS = 30_000;
+
+    private final Logger logger;
+    private final Map<Class<?>, Window> windows = new ConcurrentHashMap<>();
+
+    private VInjectLogger(Logger logger) {
+        this.logger = logger;
+    }
+
+    public static @NotNull VInjectLogger getInstance(@NotNull Class<?> owner) {
+        return new VInjectLogger(Logger.getInstance(owner));
+    }
+
+    public boolean isDebugEnabled() {
+        return logger.isDebugEnabled();
+    }
+
+    public void debug(@NotNull Supplier<String> message) {
+        if (logger.isDebugEnabled()) {
+            String text = limit(message);
+            if (text != null) {
+                logger.debug(text);
+            }
+        }
+    }
+
+    public void info(@NotNull Supplier<String> message) {
+        String text = limit(message);
+        if (text != null) {
+            logger.info(text);
+        }
+    }
+
+    public void warn(@NotNull Supplier<String> message) {
+        warn(message, null);
+    }
+
+    public void warn(@NotNull Supplier<String> message, @Nullable Throwable throwable) {
+        String text = limit(message);
+        if (text != null) {
+            logger.warn(text, throwable);
+        }
+    }
+
+    /**
+     * Errors are reported to the IDE's error dialog and are never rate limited
+     */
+    public void error(@NotNull String message, @Nullable Throwable throwable) {
+        logger.error(message, throwable);
+    }
+
+    private @Nullable String limit(Supplier<String> message) {
+        Window window = windows.computeIfAbsent(message.getClass(), k -> new Window());
+        long now = System.nanoTime();
+        long last = window.lastLogged.get();
+        if (last != 0 && now - last < TimeUnit.MILLISECONDS.toNanos(RATE_LIMIT_INTERVAL_MS)) {
+            window.suppressed.incrementAndGet();
+            return null;
+        }
+        if (!window.lastLogged.compareAndSet(last, now)) {
+            // Another thread logged this call site just now
+            window.suppressed.incrementAndGet();
+            return null;
+        }
+        int suppressed = window.suppressed.getAndSet(0);
+        String text = message.get();
+        return suppressed == 0 ? text : text + " (" + suppressed + " similar messages suppressed)";
+    }
+
+    private static final class Window {
+
+        private final AtomicLong lastLogged = new AtomicLong();
+        private final AtomicInteger suppressed = new AtomicInteger();
+    }
+}
@@ -0,0 +1,159 @@
+package net.vortexdevelopment.plugin.vinject;
+
+import com.intellij.codeInspection.InspectionManager;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.command.WriteCommandAction;
+import com.intellij.openapi.editor.Document;
+import com.intellij.psi.JavaPsiFacade;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiDocumentManager;
+import com.intellij.psi.PsiField;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiJavaFile;
+import com.intellij.psi.PsiManager;
+import com.intellij.psi.PsiMethod;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.testFramework.PlatformTestUtil;
+import com.intellij.testFramework.fixtures.BasePlatformTestCase;
+import net.vortexdevelopment.plugin.vinject.container.ClassDataManager;
+import net.vortexdevelopment.plugin.vinject.syntax.AnnotationChangeListener;
+import net.vortexdevelopment.plugin.vinject.syntax.ComponentHighlighter;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time and heap budgets of scanning, inspecting and reparsing a generated VInject project.
+ * <p>
+ * Not part of the default test run, enable it with {@code ./gradlew test -Pvinject.perf.enabled=true}.
+ * The project size and budgets can be changed with the {@code vinject.perf.*} system properties,
+ * the defaults leave room for slow CI machines while still catching an order of magnitude regression.
+ */
+public class ScanPerformanceTest extends BasePlatformTestCase {
+
+    private static final int COMPONENTS = Integer.getInteger("vinject.perf.components", 5000);
+    private static final long SCAN_BUDGET_MS = Long.getLong("vinject.perf.scanBudgetMs", 30_000);
+    private static final long INSPECTION_BUDGET_MS = Long.getLong("vinject.perf.inspectionBudgetMs", 30_000);
+    private static final long REPARSE_BUDGET_MS = Long.getLong("vinject.perf.reparseBudgetMs", 5_000);
+    private static final long RETAINED_HEAP_BUDGET_MB = Long.getLong("vinject.perf.retainedHeapBudgetMb", 128);
+
+    private List<PsiFile> files;
+    private ClassDataManager classDataManager;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        VInjectProjectGenerator.addFrameworkAnnotations(myFixture);
+        files = VInjectProjectGenerator.generate(myFixture, COMPONENTS);
+        classDataManager = ClassDataManager.getInstance(getProject());
+        // The light fixture project is shared between tests, start every test from an empty registry
+        classDataManager.clear();
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        try {
+            files = null;
+            classDataManager = null;
+        } finally {
+            super.tearDown();
+        }
+    }
+
+    public void testRescanProject() {
+        RescanScheduler scheduler = RescanScheduler.getInstance(getProject());
+        long heapBefore = usedHeapAfterGc();
+        long start = System.nanoTime();
+        Plugin.rescanProject(getProject());
+        PlatformTestUtil.waitWithEventsDispatching("Rescan did not finish", () -> !scheduler.isBusy(),
+                (int) TimeUnit.MILLISECONDS.toSeconds(SCAN_BUDGET_MS) + 1);
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        // Measured once the scan is done, only what the registry retains is left
+        long retainedMb = (usedHeapAfterGc() - heapBefore) / (1024 * 1024);
+
+        assertTrue("First component was not registered", ReadAction.compute(() ->
+                classDataManager.isClassProvided(findClass(VInjectProjectGenerator.componentName(0)))));
+        assertTrue("Last component was not registered", ReadAction.compute(() ->
+                classDataManager.isClassProvided(findClass(VInjectProjectGenerator.componentName(COMPONENTS - 1)))));
+        assertTrue("Custom annotation from the registry was not registered",
+                classDataManager.getComponentAnnotations().contains(VInjectProjectGenerator.CUSTOM_ANNOTATION));
+        assertTrue("Rescan of " + COMPONENTS + " components took " + elapsedMs + " ms, budget is " + SCAN_BUDGET_MS + " ms",
+                elapsedMs <= SCAN_BUDGET_MS);
+        assertTrue("Rescan retained " + retainedMb + " MB, budget is " + RETAINED_HEAP_BUDGET_MB + " MB",
+                retainedMb <= RETAINED_HEAP_BUDGET_MB);
+    }
+
+    public void testInspectionPass() {
+        scanSynchronously();
+        ComponentHighlighter highlighter = new ComponentHighlighter();
+        InspectionManager inspectionManager = InspectionManager.getInstance(getProject());
+
+        long start = System.nanoTime();
+        ReadAction.run(() -> {
+            for (PsiFile file : files) {
+                for (PsiClass psiClass : ((PsiJavaFile) file).getClasses()) {
+                    highlighter.checkClass(psiClass, inspectionManager, true);
+                    for (PsiField field : psiClass.getFields()) {
+                        highlighter.checkField(field, inspectionManager, true);
+                    }
+                    for (PsiMethod method : psiClass.getMethods()) {
+                        highlighter.checkMethod(method, inspectionManager, true);
+                    }
+                }
+            }
+        });
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertTrue("Inspection pass over " + files.size() + " files took " + elapsedMs + " ms, budget is " + INSPECTION_BUDGET_MS + " ms",
+                elapsedMs <= INSPECTION_BUDGET_MS);
+    }
+
+    public void testEditReparse() {
+        scanSynchronously();
+        PsiManager.getInstance(getProject()).addPsiTreeChangeListener(
+                new AnnotationChangeListener(getProject(), getTestRootDisposable()), getTestRootDisposable());
+
+        // Turning a plain bean class into a component is only picked up by reprocessing its file
+        PsiClass bean = findClass(VInjectProjectGenerator.PACKAGE + ".Bean0");
+        assertNull(classDataManager.getClassData(bean));
+        Document document = PsiDocumentManager.getInstance(getProject()).getDocument(bean.getContainingFile());
+        assertNotNull(document);
+
+        long start = System.nanoTime();
+        WriteCommandAction.runWriteCommandAction(getProject(), () -> {
+            int offset = document.getText().indexOf("public class Bean0");
+            document.insertString(offset, "@net.vortexdevelopment.vinject.annotation.component.Component\n");
+            PsiDocumentManager.getInstance(getProject()).commitDocument(document);
+        });
+        PlatformTestUtil.waitWithEventsDispatching("Edited file was not reprocessed",
+                () -> ReadAction.compute(() -> classDataManager.getClassData(bean) != null),
+                (int) TimeUnit.MILLISECONDS.toSeconds(REPARSE_BUDGET_MS) + 1);
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertTrue("Edit reparse took " + elapsedMs + " ms, budget is " + REPARSE_BUDGET_MS + " ms",
+                elapsedMs <= REPARSE_BUDGET_MS);
+    }
+
+    private void scanSynchronously() {
+        ReadAction.run(() -> {
+            for (PsiFile file : files) {
+                classDataManager.processFileChange(file);
+            }
+        });
+    }
+
+    private PsiClass findClass(String qualifiedName) {
+        PsiClass psiClass = ReadAction.compute(() -> JavaPsiFacade.getInstance(getProject())
+                .findClass(qualifiedName, GlobalSearchScope.projectScope(getProject())));
+        assertNotNull(qualifiedName, psiClass);
+        return psiClass;
+    }
+
+    private static long usedHeapAfterGc() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
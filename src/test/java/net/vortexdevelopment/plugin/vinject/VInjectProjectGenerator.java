@@ -0,0 +1,179 @@
+package net.vortexdevelopment.plugin.vinject;
+
+import com.intellij.psi.PsiFile;
+import com.intellij.testFramework.fixtures.CodeInsightTestFixture;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Generates synthetic VInject codebases for benchmarks and performance tests.
+ * <p>
+ * Every tenth component has a matching service providing a bean with a @Bean method,
+ * components inject the previous component and the bean of their group, so the bean graph grows with the project.
+ * Every twentieth component is an entity and every fiftieth uses a custom annotation declared by a @Registry.
+ */
+public final class VInjectProjectGenerator {
+
+    public static final String PACKAGE = "com.example.generated";
+    public static final String CUSTOM_ANNOTATION = PACKAGE + ".Custom";
+
+    private static final int GROUP_SIZE = 10;
+    private static final int ENTITY_INTERVAL = 20;
+    private static final int CUSTOM_INTERVAL = 50;
+
+    private VInjectProjectGenerator() {
+    }
+
+    /**
+     * Adds the VInject annotations as sources, the framework jar is not available in tests
+     */
+    public static void addFrameworkAnnotations(@NotNull CodeInsightTestFixture fixture) {
+        addAnnotation(fixture, "net.vortexdevelopment.vinject.annotation.component", "Root",
+                "Class<?>[] componentAnnotations() default {}; String[] templateDependencies() default {};");
+        addAnnotation(fixture, "net.vortexdevelopment.vinject.annotation.component", "Component",
+                "Class<?>[] registerSubclasses() default {};");
+        addAnnotation(fixture, "net.vortexdevelopment.vinject.annotation.component", "Service", "");
+        addAnnotation(fixture, "net.vortexdevelopment.vinject.annotation.component", "Repository",
+                "Class<?>[] registerSubclasses() default {};");
+        addAnnotation(fixture, "net.vortexdevelopment.vinject.annotation", "Inject", "");
+        addAnnotation(fixture, "net.vortexdevelopment.vinject.annotation", "Bean",
+                "Class<?>[] registerSubclasses() default {};");
+        addAnnotation(fixture, "net.vortexdevelopment.vinject.annotation", "Registry",
+                "Class<?> annotation(); String[] packages() default {};");
+        addAnnotation(fixture, "net.vortexdevelopment.vinject.annotation", "RegisterTemplate", "");
+        addAnnotation(fixture, "net.vortexdevelopment.vinject.annotation.database", "Entity", "");
+        addAnnotation(fixture, "net.vortexdevelopment.vinject.annotation.database", "Column", "");
+        addAnnotation(fixture, "net.vortexdevelopment.vinject.annotation.database", "Id", "");
+    }
+
+    /**
+     * Generates a project with the given number of components.
+     *
+     * @return The generated files, the root and registry files first
+     */
+    public static @NotNull List<PsiFile> generate(@NotNull CodeInsightTestFixture fixture, int components) {
+        List<PsiFile> files = new ArrayList<>(components + components / GROUP_SIZE * 2 + 3);
+
+        files.add(addClass(fixture, "Application", """
+                import net.vortexdevelopment.vinject.annotation.component.Root;
+
+                @Root
+                public class Application {
+                }
+                """));
+        files.add(addClass(fixture, "CustomRegistry", """
+                import net.vortexdevelopment.vinject.annotation.Registry;
+
+                @Registry(annotation = Custom.class)
+                public class CustomRegistry {
+                }
+                """));
+        files.add(addClass(fixture, "Custom", """
+                import java.lang.annotation.Retention;
+                import java.lang.annotation.RetentionPolicy;
+
+                @Retention(RetentionPolicy.RUNTIME)
+                public @interface Custom {
+                }
+                """));
+
+        for (int group = 0; group * GROUP_SIZE < components; group++) {
+            files.add(addClass(fixture, "Bean" + group, "public class Bean" + group + " {\n}\n"));
+            files.add(addClass(fixture, "Service" + group, """
+                    import net.vortexdevelopment.vinject.annotation.Bean;
+                    import net.vortexdevelopment.vinject.annotation.component.Service;
+
+                    @Service
+                    public class Service%1$d {
+
+                        @Bean
+                        public Bean%1$d bean%1$d() {
+                            return new Bean%1$d();
+                        }
+                    }
+                    """.formatted(group)));
+        }
+
+        for (int i = 0; i < components; i++) {
+            files.add(addClass(fixture, "Component" + i, componentText(i)));
+        }
+        return files;
+    }
+
+    /**
+     * @return Name of the generated component class with the given index
+     */
+    public static @NotNull String componentName(int index) {
+        return PACKAGE + ".Component" + index;
+    }
+
+    private static String componentText(int index) {
+        int group = index / GROUP_SIZE;
+        if (index % ENTITY_INTERVAL == ENTITY_INTERVAL - 1) {
+            return """
+                    import net.vortexdevelopment.vinject.annotation.database.Column;
+                    import net.vortexdevelopment.vinject.annotation.database.Entity;
+                    import net.vortexdevelopment.vinject.annotation.database.Id;
+
+                    @Entity
+                    public class Component%1$d {
+
+                        @Id
+                        private Long id;
+
+                        @Column
+                        private String name;
+                    }
+                    """.formatted(index);
+        }
+        String annotation = index % CUSTOM_INTERVAL == CUSTOM_INTERVAL - 1 ? "Custom" : "Component";
+        String previous = index > 0 && (index - 1) % ENTITY_INTERVAL != ENTITY_INTERVAL - 1
+                ? "Component" + (index - 1)
+                : "Bean" + group;
+        return """
+                import net.vortexdevelopment.vinject.annotation.Inject;
+                import net.vortexdevelopment.vinject.annotation.component.Component;
+
+                @%1$s
+                public class Component%2$d {
+
+                    @Inject
+                    private %3$s previous;
+
+                    @Inject
+                    private Bean%4$d bean;
+
+                    private final Service%4$d service;
+
+                    public Component%2$d(Service%4$d service) {
+                        this.service = service;
+                    }
+
+                    public String describe() {
+                        return previous + " " + bean + " " + service;
+                    }
+                }
+                """.formatted(annotation, index, previous, group);
+    }
+
+    private static PsiFile addClass(CodeInsightTestFixture fixture, String name, String body) {
+        return fixture.addFileToProject(PACKAGE.replace('.', '/') + "/" + name + ".java",
+                "package " + PACKAGE + ";\n\n" + body);
+    }
+
+    private static void addAnnotation(CodeInsightTestFixture fixture, String pkg, String name, String members) {
+        fixture.addFileToProject(pkg.replace('.', '/') + "/" + name + ".java", """
+                package %s;
+
+                import java.lang.annotation.Retention;
+                import java.lang.annotation.RetentionPolicy;
+
+                @Retention(RetentionPolicy.RUNTIME)
+                public @interface %s {
+                    %s
+                }
+                """.formatted(pkg, name, members));
+    }
+}
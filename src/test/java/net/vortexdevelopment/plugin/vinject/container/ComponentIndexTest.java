@@ -0,0 +1,110 @@
+package net.vortexdevelopment.plugin.vinject.container;
+
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiManager;
+import com.intellij.testFramework.fixtures.BasePlatformTestCase;
+import net.vortexdevelopment.plugin.vinject.VInjectProjectGenerator;
+
+import java.util.List;
+
+import static net.vortexdevelopment.plugin.vinject.VInjectProjectGenerator.PACKAGE;
+
+public class ComponentIndexTest extends BasePlatformTestCase {
+
+    private ClassDataManager classDataManager;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        VInjectProjectGenerator.addFrameworkAnnotations(myFixture);
+        classDataManager = ClassDataManager.getInstance(getProject());
+        // The light fixture project is shared between tests, start every test from an empty registry
+        classDataManager.clear();
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        try {
+            classDataManager = null;
+        } finally {
+            super.tearDown();
+        }
+    }
+
+    public void testGeneratedProjectLoadsWithoutPsi() {
+        VInjectProjectGenerator.generate(myFixture, 100);
+
+        assertEmpty(loadComponents());
+        // Same package types are injected without imports
+        assertSameElements(findClassData(VInjectProjectGenerator.componentName(1)).getDependencies(),
+                PACKAGE + ".Component0", PACKAGE + ".Bean0", PACKAGE + ".Service0");
+        assertTrue(findClassData(PACKAGE + ".Service0").getBeans().contains(PACKAGE + ".Bean0"));
+        // Annotated with the custom annotation of the registry
+        assertNotNull(findClassData(VInjectProjectGenerator.componentName(49)));
+    }
+
+    public void testOwnPackageShadowsOnDemandImport() {
+        myFixture.addFileToProject("com/example/other/Component.java", """
+                package com.example.other;
+
+                public @interface Component {
+                }
+                """);
+        myFixture.addFileToProject("com/example/other/Plain.java", """
+                package com.example.other;
+
+                import net.vortexdevelopment.vinject.annotation.component.*;
+
+                @Component
+                public class Plain {
+                }
+                """);
+        myFixture.addFileToProject("com/example/other/Real.java", """
+                package com.example.other;
+
+                import net.vortexdevelopment.vinject.annotation.component.*;
+
+                @Service
+                public class Real {
+
+                    public Real(String name, Plain plain) {
+                    }
+                }
+                """);
+
+        assertEmpty(loadComponents());
+        assertNull(findRegistered("com.example.other.Plain"));
+        assertSameElements(findClassData("com.example.other.Real").getDependencies(),
+                "java.lang.String", "com.example.other.Plain");
+    }
+
+    /**
+     * Registry files first like the scan does, then everything else from the index
+     *
+     * @return Files the index could not resolve
+     */
+    private List<VirtualFile> loadComponents() {
+        return ReadAction.compute(() -> {
+            for (VirtualFile file : classDataManager.collectRegistryFiles()) {
+                classDataManager.processFileChange(PsiManager.getInstance(getProject()).findFile(file));
+            }
+            return classDataManager.loadComponentsFromIndex();
+        });
+    }
+
+    private ClassData findClassData(String qualifiedName) {
+        ClassData classData = findRegistered(qualifiedName);
+        assertNotNull(qualifiedName + " was not registered", classData);
+        return classData;
+    }
+
+    private ClassData findRegistered(String qualifiedName) {
+        for (ClassData classData : classDataManager.getRegisteredClasses()) {
+            if (classData.getQualifiedName().equals(qualifiedName)) {
+                return classData;
+            }
+        }
+        return null;
+    }
+}
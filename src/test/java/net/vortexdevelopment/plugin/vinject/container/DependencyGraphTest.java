@@ -0,0 +1,214 @@
+package net.vortexdevelopment.plugin.vinject.container;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class DependencyGraphTest {
+
+    private final DependencyGraph graph = new DependencyGraph(new FqnTable());
+
+    @Test
+    public void edgeClosingCycleMergesComponents() {
+        graph.setDependencies("A", List.of("B"));
+        graph.setDependencies("B", List.of("C"));
+        assertFalse(graph.isInCycle("A"));
+        long cycles = graph.getCycleModificationCount();
+
+        graph.setDependencies("C", List.of("A"));
+
+        assertTrue(graph.getCycleModificationCount() > cycles);
+        assertTrue(graph.isInCycle("A"));
+        assertTrue(graph.isInCycle("B"));
+        assertTrue(graph.isInCycle("C"));
+        assertEquals(graph.getOrderPosition("A"), graph.getOrderPosition("B"));
+        assertEquals(graph.getOrderPosition("A"), graph.getOrderPosition("C"));
+    }
+
+    @Test
+    public void edgeRemovalSplitsComponent() {
+        graph.setDependencies("A", List.of("B"));
+        graph.setDependencies("B", List.of("A", "C"));
+        graph.setDependencies("C", List.of("B"));
+        assertTrue(graph.isInCycle("A"));
+
+        long cycles = graph.getCycleModificationCount();
+        graph.setDependencies("B", List.of("C"));
+
+        assertTrue(graph.getCycleModificationCount() > cycles);
+        assertFalse(graph.isInCycle("A"));
+        assertTrue(graph.isInCycle("B"));
+        assertTrue(graph.isInCycle("C"));
+        assertTrue(graph.getOrderPosition("A") < graph.getOrderPosition("B"));
+        assertEquals(graph.getOrderPosition("B"), graph.getOrderPosition("C"));
+    }
+
+    @Test
+    public void edgeAgainstOrderWithoutCycleReordersWindow() {
+        graph.setDependencies("A", List.of("B"));
+        // C is created after A, the edge C -> A goes against the order
+        graph.setDependencies("C", List.of("A"));
+
+        assertFalse(graph.isInCycle("A"));
+        assertFalse(graph.isInCycle("B"));
+        assertFalse(graph.isInCycle("C"));
+        assertEquals(0, graph.getCycleModificationCount());
+        assertTrue(graph.getOrderPosition("C") < graph.getOrderPosition("A"));
+        assertTrue(graph.getOrderPosition("A") < graph.getOrderPosition("B"));
+    }
+
+    @Test
+    public void findCycleReturnsShortestPath() {
+        graph.setDependencies("A", List.of("B", "C"));
+        graph.setDependencies("B", List.of("A"));
+        graph.setDependencies("C", List.of("D"));
+        graph.setDependencies("D", List.of("A"));
+
+        assertEquals(List.of("A", "B", "A"), graph.findCycle("A"));
+        assertEquals(List.of("D", "A", "C", "D"), graph.findCycle("D"));
+        assertEquals(List.of(), graph.findCycle("unknown"));
+
+        graph.setDependencies("E", List.of("E"));
+        assertEquals(List.of("E", "E"), graph.findCycle("E"));
+    }
+
+    @Test
+    public void nodesWithoutEdgesAreRemoved() {
+        graph.setDependencies("A", List.of("java.lang.String", "B"));
+        assertEquals(3, graph.size());
+
+        graph.setDependencies("A", List.of("B"));
+        assertEquals(2, graph.size());
+        assertEquals(-1, graph.getOrderPosition("java.lang.String"));
+
+        graph.removeDependencies("A");
+        assertEquals(0, graph.size());
+        assertEquals(-1, graph.getOrderPosition("A"));
+        assertEquals(-1, graph.getOrderPosition("B"));
+    }
+
+    @Test
+    public void randomUpdatesMatchFullTarjan() {
+        Random random = new Random(42);
+        Map<String, Set<String>> edges = new HashMap<>();
+        List<String> nodes = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            nodes.add("C" + i);
+        }
+        for (int step = 0; step < 3000; step++) {
+            String source = nodes.get(random.nextInt(nodes.size()));
+            Set<String> targets = new LinkedHashSet<>();
+            int count = random.nextInt(4);
+            for (int i = 0; i < count; i++) {
+                targets.add(nodes.get(random.nextInt(nodes.size())));
+            }
+            graph.setDependencies(source, targets);
+            edges.put(source, targets);
+            verify(edges, nodes);
+        }
+    }
+
+    private void verify(Map<String, Set<String>> edges, List<String> nodes) {
+        Map<String, Integer> components = new Tarjan(edges, nodes).run();
+        Map<Integer, Integer> componentSizes = new HashMap<>();
+        components.values().forEach(component -> componentSizes.merge(component, 1, Integer::sum));
+
+        Set<String> connected = new LinkedHashSet<>();
+        edges.forEach((source, targets) -> {
+            if (!targets.isEmpty()) {
+                connected.add(source);
+                connected.addAll(targets);
+            }
+        });
+        assertEquals(connected.size(), graph.size());
+
+        for (String node : nodes) {
+            boolean expected = componentSizes.get(components.get(node)) > 1 || edges.getOrDefault(node, Set.of()).contains(node);
+            assertEquals(node, expected, graph.isInCycle(node));
+            if (!connected.contains(node)) {
+                assertEquals(node, -1, graph.getOrderPosition(node));
+            }
+            List<String> cycle = graph.findCycle(node);
+            if (expected) {
+                assertEquals(node, cycle.get(0));
+                assertEquals(node, cycle.get(cycle.size() - 1));
+                for (int i = 0; i + 1 < cycle.size(); i++) {
+                    assertTrue(cycle + " is no path", edges.get(cycle.get(i)).contains(cycle.get(i + 1)));
+                }
+            } else {
+                assertTrue(cycle.isEmpty());
+            }
+        }
+        // The maintained order has to be topological for the condensed graph
+        edges.forEach((source, targets) -> {
+            for (String target : targets) {
+                if (components.get(source).equals(components.get(target))) {
+                    assertEquals(graph.getOrderPosition(source), graph.getOrderPosition(target));
+                } else {
+                    assertTrue(source + " -> " + target, graph.getOrderPosition(source) < graph.getOrderPosition(target));
+                }
+            }
+        });
+    }
+
+    /**
+     * Reference SCCs computed from scratch
+     */
+    private static final class Tarjan {
+
+        private final Map<String, Set<String>> edges;
+        private final List<String> nodes;
+        private final Map<String, Integer> index = new HashMap<>();
+        private final Map<String, Integer> lowLink = new HashMap<>();
+        private final List<String> stack = new ArrayList<>();
+        private final Map<String, Integer> components = new HashMap<>();
+        private int nextIndex;
+        private int nextComponent;
+
+        private Tarjan(Map<String, Set<String>> edges, List<String> nodes) {
+            this.edges = edges;
+            this.nodes = nodes;
+        }
+
+        private Map<String, Integer> run() {
+            for (String node : nodes) {
+                if (!index.containsKey(node)) {
+                    visit(node);
+                }
+            }
+            return components;
+        }
+
+        private void visit(String node) {
+            index.put(node, nextIndex);
+            lowLink.put(node, nextIndex++);
+            stack.add(node);
+            for (String target : edges.getOrDefault(node, Set.of())) {
+                if (!index.containsKey(target)) {
+                    visit(target);
+                    lowLink.put(node, Math.min(lowLink.get(node), lowLink.get(target)));
+                } else if (stack.contains(target)) {
+                    lowLink.put(node, Math.min(lowLink.get(node), index.get(target)));
+                }
+            }
+            if (lowLink.get(node).equals(index.get(node))) {
+                String member;
+                do {
+                    member = stack.remove(stack.size() - 1);
+                    components.put(member, nextComponent);
+                } while (!member.equals(node));
+                nextComponent++;
+            }
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package net.vortexdevelopment.plugin.vinject.templates;
+
+import org.junit.Test;
+
+import java.util.Map;
+import java.util.Properties;
+
+import static org.junit.Assert.assertEquals;
+
+public class CompiledTemplateTest {
+
+    private static final String COMPONENT = """
+            package ${PACKAGE_NAME};
+
+            import net.vortexdevelopment.vinject.annotation.component.Component;
+
+            @Component
+            public class ${NAME} {
+
+                private final String name = "${NAME}";
+            }
+            """;
+
+    @Test
+    public void variablesRenderLikeReplace() {
+        Properties properties = properties("NAME", "Foo", "PACKAGE_NAME", "com.example");
+        assertEquals(replace(COMPONENT, properties), render(COMPONENT, properties));
+    }
+
+    @Test
+    public void unknownVariablesAreKept() {
+        String text = "class ${NAME} extends ${PARENT} { $NAME ${} ${1A} }";
+        Properties properties = properties("NAME", "Foo");
+        assertEquals(replace(text, properties), render(text, properties));
+        assertEquals("class Foo extends ${PARENT} { $NAME ${} ${1A} }", render(text, properties));
+    }
+
+    @Test
+    public void invalidDirectivesAreKept() {
+        String text = "// #if without arguments\n#end\n#else\nint size = list.size(); // #foreach(${A})\n";
+        Properties properties = properties("A", "x");
+        assertEquals(replace(text, properties), render(text, properties));
+    }
+
+    @Test
+    public void nestedConditionals() {
+        String text = """
+                #if(${OUTER})
+                outer
+                #if(${INNER})
+                inner
+                #else
+                no inner
+                #end
+                #else
+                no outer
+                #end
+                done
+                """;
+        assertEquals("outer\ninner\ndone\n", render(text, properties("OUTER", "yes", "INNER", "yes")));
+        assertEquals("outer\nno inner\ndone\n", render(text, properties("OUTER", "yes", "INNER", "false")));
+        assertEquals("no outer\ndone\n", render(text, properties("INNER", "yes")));
+        assertEquals("no outer\ndone\n", render(text, properties("OUTER", "")));
+    }
+
+    @Test
+    public void negatedConditional() {
+        String text = "#if(!${FINAL})\nopen\n#else\nfinal\n#end\n";
+        assertEquals("open\n", render(text, properties()));
+        assertEquals("final\n", render(text, properties("FINAL", "true")));
+    }
+
+    @Test
+    public void inlineDirectivesKeepTheirLine() {
+        String text = "public #if($FINAL)final #end#if(!$FINAL)open #end${NAME}\n";
+        assertEquals("public final Foo\n", render(text, properties("FINAL", "true", "NAME", "Foo")));
+        assertEquals("public open Foo\n", render(text, properties("NAME", "Foo")));
+    }
+
+    @Test
+    public void foreachBindsEveryValue() {
+        String text = """
+                #foreach(${IMPORT} in ${IMPORTS})
+                import ${IMPORT};
+                #end
+                class ${NAME} {}
+                """;
+        assertEquals("import a.B;\nimport c.D;\nclass Foo {}\n",
+                render(text, properties("IMPORTS", "a.B, ,c.D", "NAME", "Foo")));
+        assertEquals("class Foo {}\n", render(text, properties("NAME", "Foo")));
+    }
+
+    @Test
+    public void foreachRestoresOuterBinding() {
+        String text = "#foreach($X in $LIST)[${X}]#end ${X}";
+        assertEquals("[a][b] outer", render(text, properties("LIST", "a,b", "X", "outer")));
+    }
+
+    @Test
+    public void standaloneDirectiveLinesAreDropped() {
+        String text = "first\n  #if(${A})  \nsecond\n\t#end\nthird";
+        assertEquals("first\nsecond\nthird", render(text, properties("A", "yes")));
+        assertEquals("first\nthird", render(text, properties()));
+    }
+
+    @Test
+    public void mapAttributesRenderLikeProperties() throws Exception {
+        // getText(Map) used to return the raw text, it renders the same as getText(Properties) now
+        UnregisteredTemplate template = new UnregisteredTemplate("ComponentTemplate", COMPONENT, "java");
+        Properties properties = properties("NAME", "Foo", "PACKAGE_NAME", "com.example");
+        assertEquals(template.getText(properties), template.getText(Map.of("NAME", "Foo", "PACKAGE_NAME", "com.example")));
+        assertEquals(replace(COMPONENT, properties), template.getText(properties));
+    }
+
+    private static String render(String text, Properties properties) {
+        return CompiledTemplate.compile(text).render(properties::getProperty);
+    }
+
+    /**
+     * The rendering before templates were compiled, one replace per property
+     */
+    private static String replace(String text, Properties properties) {
+        for (String key : properties.stringPropertyNames()) {
+            text = text.replace("${" + key + "}", properties.getProperty(key));
+        }
+        return text;
+    }
+
+    private static Properties properties(String... keysAndValues) {
+        Properties properties = new Properties();
+        for (int i = 0; i < keysAndValues.length; i += 2) {
+            properties.setProperty(keysAndValues[i], keysAndValues[i + 1]);
+        }
+        return properties;
+    }
+}